@@ -30,6 +30,13 @@ fi
 PROPS="-DAPP_HOME=${APP_HOME}"
 PROPS="${PROPS} -DCONFIG_HOME=${CONFIG_HOME}"
 PROPS="${PROPS} -Dtosca.mappings.config=${CONFIG_HOME}/tosca-mappings.json"
+PROPS="${PROPS} -Dmodel.xml.writer=${MODEL_XML_WRITER:-jaxb}"
+PROPS="${PROPS} -Dcsar.archive.max.entries=${CSAR_MAX_ENTRIES:-10000}"
+PROPS="${PROPS} -Dcsar.archive.max.entry.size=${CSAR_MAX_ENTRY_SIZE:-104857600}"
+PROPS="${PROPS} -Dcsar.archive.max.size=${CSAR_MAX_SIZE:-262144000}"
+PROPS="${PROPS} -Dcsar.archive.max.compression.ratio=${CSAR_MAX_COMPRESSION_RATIO:-100}"
+PROPS="${PROPS} -Dcsar.parser.source=${CSAR_PARSER_SOURCE:-file}"
+PROPS="${PROPS} -Dcsar.parser.memory.dir=${CSAR_PARSER_MEMORY_DIR:-/dev/shm}"
 
 PROPS="${PROPS} -Dlogging.config=${APP_HOME}/config/logback.xml"
 
@@ -63,9 +63,11 @@ public class AAIMicroServiceAuth {
     public boolean validateRequest(HttpHeaders headers /* NOSONAR */, HttpServletRequest req,
             AAIMicroServiceAuthCore.HTTP_METHODS action, String apiPath) throws AAIAuthException {
 
-        applicationLogger.debug("validateRequest: " + apiPath);
-        applicationLogger
-                .debug("babelAuthConfig.isAuthenticationDisable(): " + babelAuthConfig.isAuthenticationDisable());
+        if (applicationLogger.isDebugEnabled()) {
+            applicationLogger.debug("validateRequest: " + apiPath);
+            applicationLogger
+                    .debug("babelAuthConfig.isAuthenticationDisable(): " + babelAuthConfig.isAuthenticationDisable());
+        }
 
         if (babelAuthConfig.isAuthenticationDisable()) {
             return true;
@@ -84,8 +86,7 @@ public class AAIMicroServiceAuth {
         }
 
         if (authUser != null) {
-            return AAIMicroServiceAuthCore.authorize(authUser.toLowerCase(),
-                    action.toString() + ":" + authPolicyFunctionName);
+            return AAIMicroServiceAuthCore.authorize(authUser.toLowerCase(), action.toString(), authPolicyFunctionName);
         } else {
             return false;
         }
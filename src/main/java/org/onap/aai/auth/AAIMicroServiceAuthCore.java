@@ -29,18 +29,26 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.TimeUnit;
 import org.onap.aai.babel.logging.ApplicationMsgs;
 import org.onap.aai.babel.logging.LogHelper;
 
-/** Authentication and authorization by user and role. */
+/**
+ * Authentication and authorization by user and role. When the policy is loaded the roles of each user are compiled
+ * into a single immutable table of the methods allowed for each function, so that authorizing a request is a hash
+ * lookup of the user followed by a hash lookup of the function.
+ */
 public class AAIMicroServiceAuthCore {
 
     private static LogHelper applicationLogger = LogHelper.INSTANCE;
@@ -55,8 +63,8 @@ public class AAIMicroServiceAuthCore {
      */
     private static String defaultAuthFileName = "auth_policy.json";
 
-    private static boolean usersInitialized = false;
-    private static HashMap<String, AAIAuthUser> users;
+    private static volatile boolean usersInitialized = false;
+    private static volatile Map<String, AAIAuthUser> users;
     private static boolean timerSet = false;
     private static Timer timer = null;
     private static String policyAuthFileName;
@@ -149,8 +157,17 @@ public class AAIMicroServiceAuthCore {
         return Optional.empty();
     }
 
+    /**
+     * (Re)load the auth policy file. The complete policy is compiled before it replaces the current policy, so
+     * concurrent requests are authorized against either the previous policy or the new one. If the file cannot be
+     * loaded then the last successfully loaded policy remains in force; if no policy has yet been loaded then no user
+     * is authorized until the policy is loaded successfully.
+     *
+     * @throws AAIAuthException
+     *             if the auth policy file cannot be read or processed
+     */
     public static synchronized void reloadUsers() throws AAIAuthException {
-        users = new HashMap<>();
+        Map<String, Map<String, AAIAuthRole>> userRoles = new HashMap<>();
 
         ObjectMapper mapper = new ObjectMapper();
         try {
@@ -160,19 +177,33 @@ public class AAIMicroServiceAuthCore {
                 String roleName = roleNode.path("name").asText();
                 AAIAuthRole r = new AAIAuthRole();
                 installFunctionOnRole(roleNode.path("functions"), roleName, r);
-                assignRoleToUsers(roleNode.path("users"), roleName, r);
+                assignRoleToUsers(roleNode.path("users"), roleName, r, userRoles);
             }
         } catch (FileNotFoundException e) {
+            retainCurrentPolicy();
             throw new AAIAuthException("Auth policy file could not be found", e);
         } catch (JsonProcessingException | NullPointerException e) {
+            retainCurrentPolicy();
             throw new AAIAuthException("Error processing Auth policy file ", e);
         } catch (IOException e) {
+            retainCurrentPolicy();
             throw new AAIAuthException("Error reading Auth policy file", e);
         }
 
+        Map<String, AAIAuthUser> compiledUsers = new HashMap<>();
+        userRoles.forEach((name, roles) -> compiledUsers.put(name, new AAIAuthUser(roles.values())));
+        users = Map.copyOf(compiledUsers);
         usersInitialized = true;
     }
 
+    private static void retainCurrentPolicy() {
+        if (users == null) {
+            users = Collections.emptyMap();
+        } else {
+            applicationLogger.debug("Retaining the current auth policy");
+        }
+    }
+
     private static void installFunctionOnRole(JsonNode functionsNode, String roleName, AAIAuthRole r) {
         for (JsonNode functionNode : functionsNode) {
             String function = functionNode.path("name").asText();
@@ -181,94 +212,144 @@ public class AAIMicroServiceAuthCore {
             for (JsonNode method_node : methodsNode) {
                 String methodName = method_node.path("name").asText();
                 hasMethods = true;
-                String func = methodName + ":" + function;
-                applicationLogger.debug("Installing function " + func + " on role " + roleName);
-                r.addAllowedFunction(func);
+                applicationLogger.debug("Installing function " + methodName + ":" + function + " on role " + roleName);
+                r.addAllowedFunction(methodName, function);
             }
 
             if (!hasMethods) {
                 for (HTTP_METHODS meth : HTTP_METHODS.values()) {
-                    String func = meth.toString() + ":" + function;
-                    applicationLogger.debug("Installing (all methods) " + func + " on role " + roleName);
-                    r.addAllowedFunction(func);
+                    applicationLogger
+                            .debug("Installing (all methods) " + meth + ":" + function + " on role " + roleName);
+                    r.addAllowedFunction(meth.toString(), function);
                 }
             }
         }
     }
 
-    private static void assignRoleToUsers(JsonNode usersNode, String roleName, AAIAuthRole r) {
+    private static void assignRoleToUsers(JsonNode usersNode, String roleName, AAIAuthRole r,
+            Map<String, Map<String, AAIAuthRole>> userRoles) {
         for (JsonNode userNode : usersNode) {
             String name = userNode.path("username").asText().toLowerCase();
-            AAIAuthUser user;
-            if (users.containsKey(name)) {
-                user = users.get(name);
-            } else {
-                user = new AAIAuthUser();
-            }
             applicationLogger.debug("Assigning " + roleName + " to user " + name);
-            user.addRole(roleName, r);
-            users.put(name, user);
+            userRoles.computeIfAbsent(name, k -> new HashMap<>()).put(roleName, r);
         }
     }
 
+    /**
+     * The functions allowed for a user, compiled from all of the user's roles. Instances are immutable.
+     */
     public static class AAIAuthUser {
-        private HashMap<String, AAIAuthRole> roles;
-
-        public AAIAuthUser() {
-            this.roles = new HashMap<>();
+        private final Map<String, Set<String>> allowedMethods;
+
+        /**
+         * Compile the allowed functions of the supplied roles.
+         *
+         * @param roles
+         *            the roles assigned to the user
+         */
+        public AAIAuthUser(Collection<AAIAuthRole> roles) {
+            Map<String, Set<String>> methods = new HashMap<>();
+            for (AAIAuthRole role : roles) {
+                role.allowedMethods.forEach(
+                        (function, roleMethods) -> methods.computeIfAbsent(function, k -> new HashSet<>())
+                                .addAll(roleMethods));
+            }
+            Map<String, Set<String>> compiled = new HashMap<>();
+            methods.forEach((function, functionMethods) -> compiled.put(function, Set.copyOf(functionMethods)));
+            this.allowedMethods = Map.copyOf(compiled);
         }
 
-        public void addRole(String roleName, AAIAuthRole r) {
-            this.roles.put(roleName, r);
+        /**
+         * @param checkFunc
+         *            the function in the form <code>METHOD:function</code>
+         * @return whether or not the user is allowed the function
+         */
+        public boolean checkAllowed(String checkFunc) {
+            int separator = checkFunc.indexOf(':');
+            return separator >= 0
+                    && checkAllowed(checkFunc.substring(0, separator), checkFunc.substring(separator + 1));
         }
 
-        public boolean checkAllowed(String checkFunc) {
-            for (Entry<String, AAIAuthRole> role_entry : roles.entrySet()) {
-                AAIAuthRole role = role_entry.getValue();
-                if (role.hasAllowedFunction(checkFunc)) {
-                    return true;
-                }
-            }
-            return false;
+        public boolean checkAllowed(String method, String function) {
+            Set<String> methods = allowedMethods.get(function);
+            return methods != null && methods.contains(method);
         }
     }
 
+    /**
+     * The functions (and methods) allowed by a role, as read from the auth policy file.
+     */
     public static class AAIAuthRole {
 
-        private List<String> allowedFunctions;
+        private final Map<String, Set<String>> allowedMethods;
 
         public AAIAuthRole() {
-            this.allowedFunctions = new ArrayList<>();
+            this.allowedMethods = new HashMap<>();
         }
 
-        public void addAllowedFunction(String func) {
-            this.allowedFunctions.add(func);
+        public void addAllowedFunction(String method, String function) {
+            this.allowedMethods.computeIfAbsent(function, k -> new HashSet<>()).add(method);
         }
 
-        public boolean hasAllowedFunction(String afunc) {
-            return this.allowedFunctions.contains(afunc);
+        public boolean hasAllowedFunction(String method, String function) {
+            Set<String> methods = allowedMethods.get(function);
+            return methods != null && methods.contains(method);
         }
     }
 
+    /**
+     * Authorize a user for a function.
+     *
+     * @param username
+     *            the (lower case) user name
+     * @param authFunction
+     *            the function in the form <code>METHOD:function</code>
+     * @return whether or not the user is authorized
+     * @throws AAIAuthException
+     *             if the auth policy has not been loaded
+     */
     public static boolean authorize(String username, String authFunction) throws AAIAuthException {
-        if (!usersInitialized || users == null) {
+        int separator = authFunction.indexOf(':');
+        if (separator < 0) {
+            return authorize(username, authFunction, null);
+        }
+        return authorize(username, authFunction.substring(0, separator), authFunction.substring(separator + 1));
+    }
+
+    /**
+     * Authorize a user for a method of a function.
+     *
+     * @param username
+     *            the (lower case) user name
+     * @param method
+     *            the method, e.g. the HTTP method
+     * @param function
+     *            the function
+     * @return whether or not the user is authorized
+     * @throws AAIAuthException
+     *             if the auth policy has not been loaded
+     */
+    public static boolean authorize(String username, String method, String function) throws AAIAuthException {
+        Map<String, AAIAuthUser> currentUsers = users;
+        if (!usersInitialized || currentUsers == null) {
             throw new AAIAuthException("Auth module not initialized");
         }
-        if (users.containsKey(username)) {
-            if (users.get(username).checkAllowed(authFunction)) {
-                logAuthenticationResult(username, authFunction, "AUTH ACCEPTED");
-                return true;
-            } else {
-                logAuthenticationResult(username, authFunction, "AUTH FAILED");
-                return false;
-            }
+        AAIAuthUser user = currentUsers.get(username);
+        if (user == null) {
+            logAuthenticationResult(username, method, function, "User not found");
+            return false;
+        } else if (function != null && user.checkAllowed(method, function)) {
+            logAuthenticationResult(username, method, function, "AUTH ACCEPTED");
+            return true;
         } else {
-            logAuthenticationResult(username, authFunction, "User not found");
+            logAuthenticationResult(username, method, function, "AUTH FAILED");
             return false;
         }
     }
 
-    private static void logAuthenticationResult(String username, String authFunction, String result) {
-        applicationLogger.debug(result + ": " + username + " on function " + authFunction);
+    private static void logAuthenticationResult(String username, String method, String function, String result) {
+        if (applicationLogger.isDebugEnabled()) {
+            applicationLogger.debug(result + ": " + username + " on function " + method + ":" + function);
+        }
     }
 }
@@ -22,7 +22,9 @@ package org.onap.aai.babel;
 
 import jakarta.ws.rs.ApplicationPath;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.onap.aai.babel.service.GenerateArtifactsBatchControllerImpl;
 import org.onap.aai.babel.service.GenerateArtifactsControllerImpl;
+import org.onap.aai.babel.service.GenerationJobControllerImpl;
 import org.onap.aai.babel.service.InfoService;
 import org.springframework.context.annotation.Configuration;
 
@@ -33,6 +35,8 @@ public class JerseyConfiguration extends ResourceConfig {
     public JerseyConfiguration() {
         // packages("org.onap.aai.babel");
         register(GenerateArtifactsControllerImpl.class);
+        register(GenerateArtifactsBatchControllerImpl.class);
+        register(GenerationJobControllerImpl.class);
         register(InfoService.class);
     }
 
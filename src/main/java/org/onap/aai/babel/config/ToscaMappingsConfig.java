@@ -0,0 +1,58 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import org.onap.aai.babel.logging.ApplicationMsgs;
+import org.onap.aai.babel.logging.LogHelper;
+import org.onap.aai.babel.parser.ArtifactGeneratorToscaParser;
+import org.onap.aai.babel.parser.ToscaMappingsLoader;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Loads the TOSCA mappings configuration when the application starts, so that the first request does not pay for it.
+ * A failure is logged here and reported again to the generation requests.
+ */
+@Configuration
+public class ToscaMappingsConfig {
+
+    private static final LogHelper applicationLogger = LogHelper.INSTANCE;
+
+    @PostConstruct
+    public void loadToscaMappings() {
+        String configLocation = System.getProperty(ArtifactGeneratorToscaParser.PROPERTY_TOSCA_MAPPING_FILE);
+        if (configLocation != null) {
+            try {
+                ToscaMappingsLoader.ensureLoaded(configLocation);
+            } catch (IOException | RuntimeException e) {
+                applicationLogger.error(ApplicationMsgs.LOAD_PROPERTIES, e, configLocation);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stopWatching() {
+        ToscaMappingsLoader.stopWatching();
+    }
+}
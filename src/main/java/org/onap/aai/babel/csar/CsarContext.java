@@ -0,0 +1,225 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.csar;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import org.apache.commons.io.FileUtils;
+import org.onap.aai.babel.csar.extractor.ArchiveLimits;
+import org.onap.aai.babel.csar.extractor.InvalidArchiveException;
+import org.onap.aai.babel.logging.LogHelper;
+import org.onap.sdc.tosca.parser.api.ISdcCsarHelper;
+import org.onap.sdc.tosca.parser.exceptions.SdcToscaParserException;
+import org.onap.sdc.tosca.parser.impl.SdcToscaParserFactory;
+
+/**
+ * The CSAR content of a single request. The SDC TOSCA parser is invoked (at most once) on first use of the CSAR helper,
+ * so that the XML model generator and the VNF catalog extractor can share the same parsed CSAR.
+ *
+ * <p>
+ * The parser only accepts a file path, so the CSAR content is written to a temporary file which is deleted when this
+ * context is closed. By default the file is created in the default temporary-file directory. Setting the system
+ * property {@value #PROPERTY_CSAR_SOURCE} to {@value #CSAR_SOURCE_MEMORY} instead creates the file in a memory-backed
+ * directory (by default the tmpfs mount {@code /dev/shm}, which may be overridden using the system property
+ * {@value #PROPERTY_MEMORY_DIRECTORY}), so that parsing does not depend on disk I/O. A memory-backed directory is often
+ * small (a container is given 64 MB by default), so if it is not available, or the file cannot be written there (for
+ * example because it is full), the default temporary-file directory is used instead. Note that a file left in a tmpfs
+ * mount by a JVM which exits abnormally remains there (using memory) until the mount is cleared.
+ * </p>
+ */
+public class CsarContext implements AutoCloseable {
+
+    private static final LogHelper applicationLogger = LogHelper.INSTANCE;
+
+    public static final String PROPERTY_CSAR_SOURCE = "csar.parser.source";
+    public static final String PROPERTY_MEMORY_DIRECTORY = "csar.parser.memory.dir";
+    public static final String CSAR_SOURCE_MEMORY = "memory";
+    public static final String CSAR_SOURCE_FILE = "file";
+    private static final String DEFAULT_MEMORY_DIRECTORY = "/dev/shm";
+
+    /**
+     * Parses a CSAR file into an SDC CSAR helper.
+     */
+    @FunctionalInterface
+    public interface CsarParser {
+        ISdcCsarHelper parse(String csarFilepath) throws SdcToscaParserException;
+    }
+
+    private final byte[] csarArchive;
+    private final CsarParser csarParser;
+
+    private boolean archiveChecked;
+    private Path csarPath;
+    private ISdcCsarHelper csarHelper;
+    private SdcToscaParserException parserException;
+
+    /**
+     * Create a context for the supplied CSAR content, using the SDC TOSCA parser.
+     *
+     * @param csarArchive
+     *            the CSAR content
+     */
+    public CsarContext(byte[] csarArchive) {
+        this(csarArchive, csarFilepath -> SdcToscaParserFactory.getInstance().getSdcCsarHelper(csarFilepath));
+    }
+
+    /**
+     * Create a context for the supplied CSAR content, using the specified parser.
+     *
+     * @param csarArchive
+     *            the CSAR content
+     * @param csarParser
+     *            the parser to invoke on first use of the CSAR helper
+     */
+    public CsarContext(byte[] csarArchive, CsarParser csarParser) {
+        this.csarArchive = Objects.requireNonNull(csarArchive);
+        this.csarParser = Objects.requireNonNull(csarParser);
+    }
+
+    public byte[] getCsarArchive() {
+        return csarArchive;
+    }
+
+    /**
+     * Check the CSAR content against the {@link ArchiveLimits}, before it is passed to the parser.
+     *
+     * @throws InvalidArchiveException
+     *             if the CSAR content exceeds the limits for decompression
+     */
+    public synchronized void checkArchive() throws InvalidArchiveException {
+        new ArchiveLimits().check(csarArchive);
+        archiveChecked = true;
+    }
+
+    /**
+     * @return whether the CSAR content has been checked against the {@link ArchiveLimits}
+     */
+    public synchronized boolean isArchiveChecked() {
+        return archiveChecked;
+    }
+
+    /**
+     * Get the parsed CSAR, parsing the content if this has not already been done. A parser failure is remembered and
+     * reported to every subsequent caller without parsing the content again.
+     *
+     * @return the SDC CSAR helper for this CSAR
+     * @throws IOException
+     *             if the temporary file for the parser cannot be written
+     * @throws SdcToscaParserException
+     *             if the SDC TOSCA parser determines that the CSAR is invalid
+     */
+    public synchronized ISdcCsarHelper getCsarHelper() throws IOException, SdcToscaParserException {
+        if (parserException != null) {
+            throw parserException;
+        }
+        if (csarHelper == null) {
+            if (csarPath == null) {
+                csarPath = createTempFile(csarArchive);
+            }
+            try {
+                csarHelper = csarParser.parse(csarPath.toAbsolutePath().toString());
+            } catch (SdcToscaParserException e) {
+                parserException = e;
+                throw e;
+            }
+        }
+        return csarHelper;
+    }
+
+    /**
+     * Delete the temporary file (if any) created for the parser.
+     */
+    @Override
+    public synchronized void close() {
+        if (csarPath != null) {
+            FileUtils.deleteQuietly(csarPath.toFile());
+            csarPath = null;
+        }
+    }
+
+    /**
+     * Creates a temporary file to store the CSAR content.
+     *
+     * @param bytes
+     *            the CSAR content
+     * @return Path to a temporary file containing the CSAR bytes
+     * @throws IOException
+     *             if an I/O error occurs or the temporary-file directory does not exist
+     */
+    private Path createTempFile(byte[] bytes) throws IOException {
+        return createTempFile(getTempDirectory(), bytes);
+    }
+
+    /**
+     * Creates a temporary file to store the CSAR content, in the specified directory if possible.
+     *
+     * @param directory
+     *            the (memory-backed) directory for the file, or null to use the default temporary-file directory
+     * @param bytes
+     *            the CSAR content
+     * @return Path to a temporary file containing the CSAR bytes
+     * @throws IOException
+     *             if an I/O error occurs writing to the default temporary-file directory
+     */
+    static Path createTempFile(Path directory, byte[] bytes) throws IOException {
+        if (directory != null) {
+            Path path = null;
+            try {
+                path = Files.createTempFile(directory, "temp", ".csar");
+                Files.write(path, bytes);
+                applicationLogger.debug("Created temp file " + path);
+                return path;
+            } catch (IOException e) {
+                if (path != null) {
+                    FileUtils.deleteQuietly(path.toFile());
+                }
+                applicationLogger.debug("Unable to write to " + directory + ", using temp directory: " + e);
+            }
+        }
+        Path path = Files.createTempFile("temp", ".csar");
+        applicationLogger.debug("Created temp file " + path);
+        Files.write(path, bytes);
+        return path;
+    }
+
+    /**
+     * Determine the directory for the temporary CSAR file.
+     *
+     * @return the memory-backed directory, or null to use the default temporary-file directory
+     */
+    static Path getTempDirectory() {
+        if (!CSAR_SOURCE_MEMORY.equalsIgnoreCase(System.getProperty(PROPERTY_CSAR_SOURCE, CSAR_SOURCE_FILE))) {
+            return null;
+        }
+
+        Path directory = Paths.get(System.getProperty(PROPERTY_MEMORY_DIRECTORY, DEFAULT_MEMORY_DIRECTORY));
+        if (Files.isDirectory(directory) && Files.isWritable(directory)) {
+            return directory;
+        }
+
+        applicationLogger.debug("Memory-backed directory " + directory + " is not available, using temp directory");
+        return null;
+    }
+}
@@ -61,6 +61,30 @@ public class CsarToXmlConverter {
     public List<BabelArtifact> generateXmlFromCsar(byte[] csarArchive, String name, String version)
             throws CsarConverterException {
         validateArguments(csarArchive, name, version);
+        try (CsarContext csar = new CsarContext(csarArchive)) {
+            return generateXmlFromCsar(csar, name, version);
+        }
+    }
+
+    /**
+     * This method is responsible for generating Artifacts from YAML files within CSAR content, sharing the parsed CSAR
+     * with any other users of the supplied context.
+     *
+     * @param csar
+     *            the CSAR context for the request
+     * @param name
+     *            the name of the archive file
+     * @param version
+     *            the version of the archive file
+     * @return a list of generated XML artifacts
+     * @throws CsarConverterException
+     *             if there is an error either extracting the YAML files or generating XML artifacts
+     * @see #generateXmlFromCsar(byte[], String, String)
+     */
+    public List<BabelArtifact> generateXmlFromCsar(CsarContext csar, String name, String version)
+            throws CsarConverterException {
+        Objects.requireNonNull(csar);
+        validateArguments(csar.getCsarArchive(), name, version);
 
         StopWatch stopwatch = new StopWatch();
         stopwatch.start();
@@ -70,8 +94,10 @@ public class CsarToXmlConverter {
         List<BabelArtifact> xmlArtifacts;
 
         try {
-            List<Artifact> ymlFiles = yamlExtractor.extract(csarArchive, name, version);
-            xmlArtifacts = new ModelGenerator().generateArtifacts(csarArchive, ymlFiles);
+            // The central directory does not need to be checked again for an archive which has been checked already
+            List<Artifact> ymlFiles =
+                    yamlExtractor.extract(csar.getCsarArchive(), name, version, !csar.isArchiveChecked());
+            xmlArtifacts = new ModelGenerator().generateArtifacts(csar, ymlFiles);
             logger.info(ApplicationMsgs.DISTRIBUTION_EVENT,xmlArtifacts.size() + " XML artifact(s) have been generated");
         } catch (InvalidArchiveException e) {
             throw new CsarConverterException(
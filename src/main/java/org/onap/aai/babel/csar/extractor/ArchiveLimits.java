@@ -0,0 +1,243 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.csar.extractor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serial;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.apache.commons.io.input.ProxyInputStream;
+
+/**
+ * Limits on the decompression of a CSAR (compressed archive), protecting the service from archives (such as "zip
+ * bombs") which would inflate to an excessive size. The limits are
+ * <ul>
+ * <li>the number of entries in the archive ({@value #PROPERTY_MAX_ENTRIES})</li>
+ * <li>the uncompressed size of a single entry ({@value #PROPERTY_MAX_ENTRY_SIZE})</li>
+ * <li>the total uncompressed size of the archive ({@value #PROPERTY_MAX_ARCHIVE_SIZE})</li>
+ * <li>the compression ratio of a single entry ({@value #PROPERTY_MAX_COMPRESSION_RATIO}), which is only applied once
+ * the entry has inflated to more than {@value #RATIO_THRESHOLD_SIZE} bytes</li>
+ * </ul>
+ * Each limit may be set using the named system property. The sizes declared in the central directory of the archive
+ * are checked first; the limits are then enforced on the bytes actually inflated, so that an archive cannot evade
+ * them by declaring false sizes. The inflated bytes of every entry read in a single pass over the archive are counted
+ * against one running total, so the pass stops as soon as the archive exceeds its uncompressed size limit.
+ */
+public class ArchiveLimits {
+
+    public static final String PROPERTY_MAX_ENTRIES = "csar.archive.max.entries";
+    public static final String PROPERTY_MAX_ENTRY_SIZE = "csar.archive.max.entry.size";
+    public static final String PROPERTY_MAX_ARCHIVE_SIZE = "csar.archive.max.size";
+    public static final String PROPERTY_MAX_COMPRESSION_RATIO = "csar.archive.max.compression.ratio";
+
+    static final long DEFAULT_MAX_ENTRIES = 10_000;
+    static final long DEFAULT_MAX_ENTRY_SIZE = 100L * 1024 * 1024;
+    static final long DEFAULT_MAX_ARCHIVE_SIZE = 250L * 1024 * 1024;
+    static final long DEFAULT_MAX_COMPRESSION_RATIO = 100;
+    static final long RATIO_THRESHOLD_SIZE = 1024L * 1024;
+
+    // The largest array which can be allocated on common JVMs
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final long maxEntries;
+    private final long maxEntrySize;
+    private final long maxArchiveSize;
+    private final long maxCompressionRatio;
+
+    /**
+     * Create the limits configured by system properties (or else the default limits).
+     */
+    public ArchiveLimits() {
+        this(Long.getLong(PROPERTY_MAX_ENTRIES, DEFAULT_MAX_ENTRIES),
+                Long.getLong(PROPERTY_MAX_ENTRY_SIZE, DEFAULT_MAX_ENTRY_SIZE),
+                Long.getLong(PROPERTY_MAX_ARCHIVE_SIZE, DEFAULT_MAX_ARCHIVE_SIZE),
+                Long.getLong(PROPERTY_MAX_COMPRESSION_RATIO, DEFAULT_MAX_COMPRESSION_RATIO));
+    }
+
+    ArchiveLimits(long maxEntries, long maxEntrySize, long maxArchiveSize, long maxCompressionRatio) {
+        this.maxEntries = maxEntries;
+        this.maxEntrySize = maxEntrySize;
+        this.maxArchiveSize = maxArchiveSize;
+        this.maxCompressionRatio = maxCompressionRatio;
+    }
+
+    /**
+     * Read the (compressed) content of an archive from a stream, such as a request body, without reading more than
+     * the uncompressed size limit of the archive. Compression never makes a valid archive larger than this limit (plus
+     * its small per-entry overhead), so larger content is rejected before it is held in memory.
+     *
+     * @param archiveStream
+     *            the stream of archive content
+     * @return the archive content
+     * @throws IOException
+     *             if the stream cannot be read
+     * @throws InvalidArchiveException
+     *             if the content exceeds the uncompressed size limit of the archive
+     */
+    public byte[] read(InputStream archiveStream) throws IOException, InvalidArchiveException {
+        byte[] archive = archiveStream.readNBytes((int) Math.min(maxArchiveSize + 1, MAX_ARRAY_SIZE));
+        if (archive.length > maxArchiveSize) {
+            throw new InvalidArchiveException(
+                    "The CSAR content exceeds the maximum size of " + maxArchiveSize + " bytes.");
+        }
+        return archive;
+    }
+
+    /**
+     * Check that the supplied archive can be decompressed within the limits, by inflating (and discarding) the content
+     * of its entries one at a time on the calling thread. The check stops at the first entry which exceeds a limit, so
+     * no more than the uncompressed size limit of the archive is inflated. This is required before the archive is
+     * passed to the SDC TOSCA parser, which decompresses every entry without any limits of its own. Content which
+     * cannot be read as a ZIP archive is not rejected here; this is reported by the consumer of the archive.
+     *
+     * @param archive
+     *            the compressed archive
+     * @throws InvalidArchiveException
+     *             if the archive exceeds any of the limits
+     */
+    public void check(byte[] archive) throws InvalidArchiveException {
+        try (SeekableInMemoryByteChannel inMemoryByteChannel = new SeekableInMemoryByteChannel(archive);
+                ZipFile zipFile = new ZipFile(inMemoryByteChannel)) {
+            checkEntries(zipFile);
+            AtomicLong inflatedSize = new AtomicLong();
+            for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
+                try (InputStream entryStream = limit(entry, zipFile.getInputStream(entry), inflatedSize)) {
+                    entryStream.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+        } catch (LimitExceededException e) {
+            throw new InvalidArchiveException(e.getMessage(), e);
+        } catch (IOException e) {
+            // Not a (readable) archive: this is reported by the consumer of the content
+        }
+    }
+
+    /**
+     * Check the entries listed in the central directory of an archive against the limits, using the sizes declared for
+     * each entry.
+     *
+     * @param zipFile
+     *            the archive
+     * @throws InvalidArchiveException
+     *             if the archive declares too many entries, or declares sizes which exceed the limits
+     */
+    public void checkEntries(ZipFile zipFile) throws InvalidArchiveException {
+        List<ZipArchiveEntry> entries = Collections.list(zipFile.getEntries());
+        if (entries.size() > maxEntries) {
+            throw new InvalidArchiveException(
+                    "The CSAR archive contains more than the maximum of " + maxEntries + " entries.");
+        }
+        long archiveSize = 0;
+        for (ZipArchiveEntry entry : entries) {
+            try {
+                checkEntrySize(entry, Math.max(entry.getSize(), 0));
+            } catch (LimitExceededException e) {
+                throw new InvalidArchiveException(e.getMessage(), e);
+            }
+            archiveSize += Math.max(entry.getSize(), 0);
+        }
+        try {
+            checkArchiveSize(archiveSize);
+        } catch (LimitExceededException e) {
+            throw new InvalidArchiveException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Wrap the stream of an entry's content so that the inflated size and compression ratio of the entry, and the
+     * uncompressed size of the archive, are enforced while the content is read.
+     *
+     * @param entry
+     *            the archive entry
+     * @param entryStream
+     *            the (decompressed) content of the entry
+     * @param inflatedSize
+     *            the running total of the bytes inflated from the archive, shared by all of the entries read in the
+     *            same pass over the archive
+     * @return a stream which fails with an {@link IOException} if the content exceeds the limits
+     */
+    public InputStream limit(ZipArchiveEntry entry, InputStream entryStream, AtomicLong inflatedSize) {
+        return entryStream == null ? InputStream.nullInputStream()
+                : new LimitedInputStream(entry, entryStream, inflatedSize);
+    }
+
+    private void checkArchiveSize(long size) throws LimitExceededException {
+        if (size > maxArchiveSize) {
+            throw new LimitExceededException(
+                    "The CSAR archive exceeds the maximum uncompressed size of " + maxArchiveSize + " bytes.");
+        }
+    }
+
+    private void checkEntrySize(ZipArchiveEntry entry, long size) throws LimitExceededException {
+        if (size > maxEntrySize) {
+            throw new LimitExceededException("The CSAR entry " + entry.getName()
+                    + " exceeds the maximum uncompressed size of " + maxEntrySize + " bytes.");
+        }
+        long compressedSize = entry.getCompressedSize();
+        if (size > RATIO_THRESHOLD_SIZE && compressedSize > 0 && size / compressedSize > maxCompressionRatio) {
+            throw new LimitExceededException("The CSAR entry " + entry.getName()
+                    + " exceeds the maximum compression ratio of " + maxCompressionRatio + ".");
+        }
+    }
+
+    /**
+     * Signals that an entry exceeded a limit while its content was being read.
+     */
+    private static class LimitExceededException extends IOException {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        LimitExceededException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Counts the bytes read from an entry, enforcing the entry and archive limits as the content is inflated.
+     */
+    private class LimitedInputStream extends ProxyInputStream {
+        private final ZipArchiveEntry entry;
+        private final AtomicLong inflatedSize;
+        private long size;
+
+        LimitedInputStream(ZipArchiveEntry entry, InputStream entryStream, AtomicLong inflatedSize) {
+            super(entryStream);
+            this.entry = entry;
+            this.inflatedSize = inflatedSize;
+        }
+
+        @Override
+        protected void afterRead(int count) throws IOException {
+            if (count > 0) {
+                size += count;
+                checkEntrySize(entry, size);
+                checkArchiveSize(inflatedSize.addAndGet(count));
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.csar.extractor;
+
+import java.io.Serial;
+
+/**
+ * Wraps an {@link InvalidArchiveException} raised while the content of an archive entry is read on demand (for
+ * example when the entry exceeds the {@link ArchiveLimits}), where a checked exception cannot be thrown.
+ */
+public class UncheckedArchiveException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    UncheckedArchiveException(InvalidArchiveException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized InvalidArchiveException getCause() {
+        return (InvalidArchiveException) super.getCause();
+    }
+}
@@ -21,9 +21,12 @@
 package org.onap.aai.babel.csar.extractor;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipFile;
@@ -37,7 +40,8 @@ import org.onap.aai.babel.xml.generator.data.Artifact;
 import org.onap.aai.cl.api.Logger;
 
 /**
- * This class extracts YAML files from CSAR (compressed archive) content.
+ * This class extracts YAML files from CSAR (compressed archive) content. The YAML entries are identified from the
+ * central directory of the archive; the content of an entry is decompressed only when it is first required.
  *
  */
 public class YamlExtractor {
@@ -45,6 +49,8 @@ public class YamlExtractor {
 
     private static final Pattern YAMLFILE_EXTENSION_REGEX = Pattern.compile("(?i).*\\.ya?ml$");
 
+    private final ArchiveLimits archiveLimits = new ArchiveLimits();
+
     /**
      * This method is responsible for filtering the contents of the supplied archive and returning a collection of
      * {@link Artifact}s that represent the YAML files that have been found in the archive.
@@ -57,35 +63,76 @@ public class YamlExtractor {
      *            the version of the archive
      * @return List&lt;Artifact&gt; collection of YAML artifacts found in the archive
      * @throws InvalidArchiveException
-     *             if an error occurs trying to extract the YAML file(s) from the archive, or no files were found
+     *             if an error occurs trying to extract the YAML file(s) from the archive, no files were found, or the
+     *             archive exceeds the {@link ArchiveLimits}
      */
     public List<Artifact> extract(byte[] archive, String name, String version) throws InvalidArchiveException {
+        return extract(archive, name, version, true);
+    }
+
+    /**
+     * Extract the YAML files from the supplied archive, optionally skipping the check of the archive's central
+     * directory against the {@link ArchiveLimits} (because the whole archive has already been checked). The limits
+     * are always enforced on the content of the YAML entries as it is read.
+     *
+     * @param archive
+     *            the compressed archive in the form of a byte array, expected to contain one or more YAML files
+     * @param name
+     *            the name of the archive
+     * @param version
+     *            the version of the archive
+     * @param checkEntries
+     *            whether to check the entries declared in the central directory against the limits
+     * @return List&lt;Artifact&gt; collection of YAML artifacts found in the archive
+     * @throws InvalidArchiveException
+     *             if an error occurs trying to extract the YAML file(s) from the archive, no files were found, or the
+     *             archive exceeds the {@link ArchiveLimits}
+     */
+    public List<Artifact> extract(byte[] archive, String name, String version, boolean checkEntries)
+            throws InvalidArchiveException {
         validateRequest(archive, name, version);
 
         logger.info(ApplicationMsgs.DISTRIBUTION_EVENT, "Extracting CSAR archive: " + name);
 
         List<Artifact> ymlFiles = new ArrayList<>();
-        try (SeekableInMemoryByteChannel inMemoryByteChannel = new SeekableInMemoryByteChannel(archive);
-             ZipFile zipFile = new ZipFile(inMemoryByteChannel)) {
+        ZipFile zipFile = null;
+        try {
+            // The archive is read from memory, so the ZipFile (and its parsed central directory) is kept for reading
+            // the entries on demand rather than being opened again for each entry. It holds no system resources.
+            zipFile = new ZipFile(new SeekableInMemoryByteChannel(archive));
+            if (checkEntries) {
+                archiveLimits.checkEntries(zipFile);
+            }
+            List<ZipArchiveEntry> ymlEntries = new ArrayList<>();
             Enumeration<ZipArchiveEntry> enumeration = zipFile.getEntries();
             while(enumeration.hasMoreElements()) {
                 ZipArchiveEntry entry = enumeration.nextElement();
                 if (fileShouldBeExtracted(entry)) {
-                    Artifact artifact = ModelGenerator.createArtifact(IOUtils.toByteArray(zipFile.getInputStream(entry)),
-                    entry.getName(), version);
-                    ymlFiles.add(artifact);
+                    ymlEntries.add(entry);
                 }
             }
-            if (ymlFiles.isEmpty()) {
+            if (ymlEntries.isEmpty()) {
                 throw new InvalidArchiveException("No valid YAML files were found in the CSAR file.");
             }
+
+            // The YAML entries of the archive are inflated against a single running total
+            AtomicLong inflatedSize = new AtomicLong();
+            for (ZipArchiveEntry ymlEntry : ymlEntries) {
+                ymlFiles.add(ModelGenerator.createArtifact(
+                        new ArchiveEntrySource(zipFile, ymlEntry, archiveLimits, inflatedSize), ymlEntry.getName(),
+                        version));
+            }
         } catch (IOException e) {
             throw new InvalidArchiveException(
                     "An error occurred trying to create a ZipFile. Is the content being converted really a CSAR file?",
                     e);
+        } finally {
+            if (ymlFiles.isEmpty()) {
+                IOUtils.closeQuietly(zipFile);
+            }
         }
 
-        logger.debug(ApplicationMsgs.DISTRIBUTION_EVENT, ymlFiles.size() + " YAML files extracted.");
+        logger.debug(ApplicationMsgs.DISTRIBUTION_EVENT, ymlFiles.size() + " YAML files found.");
 
         return ymlFiles;
     }
@@ -120,4 +167,41 @@ public class YamlExtractor {
         logger.debug(ApplicationMsgs.DISTRIBUTION_EVENT, "Extraction of " + entry.getName() + "=" + extractFile);
         return extractFile;
     }
+
+    /**
+     * Supplies the (decompressed) content of a single archive entry, reading the entry when the content is first
+     * requested. The entry limits are enforced while the content is inflated. A failure to read the entry, including a
+     * limit being exceeded, is thrown as an {@link UncheckedArchiveException} (wrapping an
+     * {@link InvalidArchiveException}).
+     */
+    private static class ArchiveEntrySource implements Supplier<byte[]> {
+        private final ZipFile zipFile;
+        private final ZipArchiveEntry entry;
+        private final ArchiveLimits archiveLimits;
+        private final AtomicLong inflatedSize;
+        private byte[] content;
+
+        ArchiveEntrySource(ZipFile zipFile, ZipArchiveEntry entry, ArchiveLimits archiveLimits,
+                AtomicLong inflatedSize) {
+            this.zipFile = zipFile;
+            this.entry = entry;
+            this.archiveLimits = archiveLimits;
+            this.inflatedSize = inflatedSize;
+        }
+
+        @Override
+        public synchronized byte[] get() {
+            if (content == null) {
+                logger.debug(ApplicationMsgs.DISTRIBUTION_EVENT, "Reading archive entry " + entry.getName());
+                try (InputStream entryStream =
+                        archiveLimits.limit(entry, zipFile.getInputStream(entry), inflatedSize)) {
+                    content = IOUtils.toByteArray(entryStream);
+                } catch (IOException e) {
+                    throw new UncheckedArchiveException(new InvalidArchiveException(
+                            "Unable to read " + entry.getName() + " from the CSAR file: " + e.getMessage(), e));
+                }
+            }
+            return content;
+        }
+    }
 }
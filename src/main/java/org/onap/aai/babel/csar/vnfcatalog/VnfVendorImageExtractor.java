@@ -22,8 +22,6 @@
 package org.onap.aai.babel.csar.vnfcatalog;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -32,8 +30,8 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.time.StopWatch;
+import org.onap.aai.babel.csar.CsarContext;
 import org.onap.aai.babel.logging.ApplicationMsgs;
 import org.onap.aai.babel.logging.LogHelper;
 import org.onap.aai.babel.parser.ToscaParser;
@@ -41,7 +39,6 @@ import org.onap.aai.babel.service.data.BabelArtifact;
 import org.onap.sdc.tosca.parser.api.ISdcCsarHelper;
 import org.onap.sdc.tosca.parser.enums.SdcTypes;
 import org.onap.sdc.tosca.parser.exceptions.SdcToscaParserException;
-import org.onap.sdc.tosca.parser.impl.SdcToscaParserFactory;
 import org.onap.sdc.toscaparser.api.NodeTemplate;
 
 import jakarta.ws.rs.core.Response;
@@ -138,6 +135,25 @@ public class VnfVendorImageExtractor {
      *             if the CSAR content is not valid
      */
     public BabelArtifact extract(byte[] csar) throws ToscaToCatalogException {
+        Objects.requireNonNull(csar, "A CSAR file must be supplied");
+        try (CsarContext csarContext = new CsarContext(csar)) {
+            return extract(csarContext);
+        }
+    }
+
+    /**
+     * Extract the VNF Vendor Image Configurations from a CSAR, sharing the parsed content with any other users of the
+     * supplied context.
+     *
+     * @param csar
+     *            the CSAR context for the request
+     * @return BabelArtifact VendorImageConfiguration objects created during processing represented as the Babel service
+     *         public data structure
+     * @throws ToscaToCatalogException
+     *             if the CSAR content is not valid
+     * @see #extract(byte[])
+     */
+    public BabelArtifact extract(CsarContext csar) throws ToscaToCatalogException {
         StopWatch stopwatch = new StopWatch();
         stopwatch.start();
 
@@ -145,18 +161,12 @@ public class VnfVendorImageExtractor {
         applicationLogger.info(ApplicationMsgs.DISTRIBUTION_EVENT, "Extracting VNF Configuration data");
 
         List<VendorImageConfiguration> vendorImageConfigurations;
-        Path path = null;
 
         try {
-            path = createTempFile(csar);
-            vendorImageConfigurations = createVendorImageConfigurations(path.toAbsolutePath().toString());
+            vendorImageConfigurations = createVendorImageConfigurations(csar.getCsarHelper());
         } catch (InvalidNumberOfNodesException | IOException | SdcToscaParserException e) {
             throw new ToscaToCatalogException(
                     "An error occurred trying to get the VNF Catalog from a CSAR file. " + e.getLocalizedMessage(), e);
-        } finally {
-            if (path != null) {
-                FileUtils.deleteQuietly(path.toFile());
-            }
         }
 
         applicationLogger.info(ApplicationMsgs.DISTRIBUTION_EVENT, vendorImageConfigurations.toString());
@@ -165,39 +175,18 @@ public class VnfVendorImageExtractor {
     }
 
     /**
-     * Creates a temporary file to store the CSAR content.
+     * Build VNF Vendor Image Configurations for the VNF Configuration node (if present) in the parsed CSAR.
      *
-     * @param bytes
-     *            the CSAR content
-     * @return Path to a temporary file containing the CSAR bytes
-     * @throws IOException
-     *             if an I/O error occurs or the temporary-file directory does not exist
-     */
-    private Path createTempFile(byte[] bytes) throws IOException {
-        Path path = Files.createTempFile("temp", ".csar");
-        applicationLogger.debug("Created temp file " + path);
-        Files.write(path, bytes);
-        return path;
-    }
-
-    /**
-     * Build VNF Vendor Image Configurations for the VNF Configuration node (if present) in the CSAR file referenced by
-     * the supplied Path.
-     *
-     * @param csarFilepath
-     *            the path to the CSAR file
+     * @param csarHelper
+     *            the parsed CSAR
      * @return a List of Vendor Image Configurations
-     * @throws SdcToscaParserException
-     *             if the SDC TOSCA parser determines that the CSAR is invalid
      * @throws ToscaToCatalogException
      *             if there are no software versions defined for an image
      * @throws InvalidNumberOfNodesException
      *             if multiple VNF configuration nodes are found in the CSAR
      */
-    private List<VendorImageConfiguration> createVendorImageConfigurations(String csarFilepath)
-            throws SdcToscaParserException, ToscaToCatalogException, InvalidNumberOfNodesException {
-        ISdcCsarHelper csarHelper = SdcToscaParserFactory.getInstance().getSdcCsarHelper(csarFilepath);
-
+    private List<VendorImageConfiguration> createVendorImageConfigurations(ISdcCsarHelper csarHelper)
+            throws ToscaToCatalogException, InvalidNumberOfNodesException {
         List<NodeTemplate> serviceVfList = ToscaParser.getServiceNodeTemplates(csarHelper)
                 .filter(ToscaParser.filterOnType(SdcTypes.VF)).collect(Collectors.toList());
 
@@ -24,36 +24,71 @@ import org.onap.aai.babel.logging.ApplicationMsgs;
 import org.onap.aai.babel.logging.LogHelper;
 import org.onap.aai.babel.logging.LogHelper.MdcParameter;
 import org.onap.aai.babel.request.RequestHeaders;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.UriInfo;
 import jakarta.ws.rs.core.MultivaluedMap;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
 public class LoggingRequestFilter implements ContainerRequestFilter {
 
     private static final LogHelper applicationLogger = LogHelper.INSTANCE;
 
-    @Autowired
-    private HttpServletRequest servletRequest;
+    private final HttpServletRequest servletRequest;
+    private final PayloadLoggingPolicy payloadLogging;
+    private final int payloadLogMaxBytes;
+    private final long payloadLogSampleRate;
+    private final AtomicLong requestCount = new AtomicLong();
+
+    /**
+     * @param servletRequest
+     *            the current servlet request
+     * @param payloadLogging
+     *            the policy for logging request payloads (off, capped, sampled or hash)
+     * @param payloadLogMaxBytes
+     *            the maximum number of payload bytes logged by the capped and sampled policies
+     * @param payloadLogSampleRate
+     *            the sampled policy logs the payload of one in this number of requests
+     */
+    public LoggingRequestFilter(HttpServletRequest servletRequest,
+            @Value("${babel.request.payload-logging:off}") String payloadLogging,
+            @Value("${babel.request.payload-log-max-bytes:1024}") int payloadLogMaxBytes,
+            @Value("${babel.request.payload-log-sample-rate:100}") long payloadLogSampleRate) {
+        this.servletRequest = servletRequest;
+        this.payloadLogging = PayloadLoggingPolicy.fromValue(payloadLogging);
+        this.payloadLogMaxBytes = Math.max(0, payloadLogMaxBytes);
+        this.payloadLogSampleRate = Math.max(1, payloadLogSampleRate);
+    }
 
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
       UriInfo uriInfo = requestContext.getUriInfo();
-      String requestBody = requestContext.getEntityStream().toString();
       MultivaluedMap<String, String> headers = requestContext.getHeaders();
       applicationLogger.startAudit(headers, servletRequest);
+
+      RequestHeaders requestHeaders = new RequestHeaders(headers);
       applicationLogger.info(ApplicationMsgs.BABEL_REQUEST_PAYLOAD,
-              "Received request: " + headers + requestBody);
-      applicationLogger.debug("Received request. UriInfo \"%s\", HttpHeaders \"%s\", ServletRequest \"%s\", Request \"%s\"".formatted(uriInfo,
-              headers, servletRequest, requestBody));
+              "Received request: " + requestHeaders + describePayload(requestContext));
+      if (applicationLogger.isDebugEnabled()) {
+          applicationLogger.debug("Received request. UriInfo \"%s\", HttpHeaders \"%s\", ServletRequest \"%s\""
+                  .formatted(uriInfo, headers, servletRequest));
+      }
 
       // Additional name/value pairs according to EELF guidelines
       applicationLogger.setContextValue("Protocol", "https");
@@ -61,9 +96,6 @@ public class LoggingRequestFilter implements ContainerRequestFilter {
       applicationLogger.setContextValue("Path", uriInfo.getPath());
       applicationLogger.setContextValue("Query", uriInfo.getPathParameters().toString());
 
-      RequestHeaders requestHeaders = new RequestHeaders(headers);
-      applicationLogger.info(ApplicationMsgs.BABEL_REQUEST_PAYLOAD, requestHeaders.toString());
-
       String requestId = requestHeaders.getCorrelationId();
       if (requestId == null || !isRequestIDValid(requestId)) {
           requestId = UUID.randomUUID().toString();
@@ -73,6 +105,75 @@ public class LoggingRequestFilter implements ContainerRequestFilter {
 
     }
 
+    /**
+     * Describe the request payload according to the payload logging policy. The entity stream is read only when the
+     * policy requires it, and is then replaced so that the full payload remains available to the resource.
+     *
+     * @param requestContext
+     *            the request context
+     * @return the payload description to append to the request log message (empty if the payload is not logged)
+     * @throws IOException
+     *             if the payload cannot be read
+     */
+    String describePayload(ContainerRequestContext requestContext) throws IOException {
+      switch (payloadLogging) {
+          case CAPPED:
+              return describePayloadStart(requestContext);
+          case SAMPLED:
+              if (requestCount.getAndIncrement() % payloadLogSampleRate == 0) {
+                  return describePayloadStart(requestContext);
+              }
+              return "";
+          case HASH:
+              requestContext.setEntityStream(new PayloadDigestInputStream(requestContext.getEntityStream()));
+              return "";
+          case OFF:
+          default:
+              return "";
+      }
+    }
+
+    private String describePayloadStart(ContainerRequestContext requestContext) throws IOException {
+      BufferedInputStream payload =
+              new BufferedInputStream(requestContext.getEntityStream(), Math.max(1, payloadLogMaxBytes));
+      payload.mark(payloadLogMaxBytes);
+      byte[] start = payload.readNBytes(payloadLogMaxBytes);
+      payload.reset();
+      requestContext.setEntityStream(payload);
+      if (isText(requestContext.getMediaType())) {
+          return ", payload (first " + start.length + " bytes): "
+                  + escapeControlCharacters(new String(start, StandardCharsets.UTF_8));
+      }
+      return ", payload (first " + start.length + " bytes, hex): " + HexFormat.of().formatHex(start);
+    }
+
+    /**
+     * Binary payloads (such as a raw CSAR archive) and payloads of unknown type are hex-encoded in the log.
+     */
+    private static boolean isText(MediaType mediaType) {
+      if (mediaType == null) {
+          return false;
+      }
+      String subtype = mediaType.getSubtype();
+      return "text".equals(mediaType.getType()) || "json".equals(subtype) || "xml".equals(subtype)
+              || subtype.endsWith("+json") || subtype.endsWith("+xml");
+    }
+
+    /**
+     * Escape control characters (including line breaks) so that a payload cannot forge or split log entries.
+     */
+    private static String escapeControlCharacters(String text) {
+      StringBuilder escaped = new StringBuilder(text.length());
+      for (char c : text.toCharArray()) {
+          if (Character.isISOControl(c)) {
+              escaped.append(String.format("\\u%04x", (int) c));
+          } else {
+              escaped.append(c);
+          }
+      }
+      return escaped.toString();
+    }
+
     private boolean isRequestIDValid(String requestId) {
       try {
           UUID.fromString(requestId);
@@ -81,4 +182,53 @@ public class LoggingRequestFilter implements ContainerRequestFilter {
       }
       return true;
     }
+
+    /**
+     * Computes the size and SHA-256 digest of the payload as it is read, and logs them when the stream is closed.
+     */
+    private static class PayloadDigestInputStream extends DigestInputStream {
+        private long size;
+        private boolean logged;
+
+        PayloadDigestInputStream(InputStream payload) {
+            super(payload, createDigest());
+        }
+
+        private static MessageDigest createDigest() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                // Every Java platform is required to support SHA-256
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                size++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int count = super.read(b, off, len);
+            if (count > 0) {
+                size += count;
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            if (!logged) {
+                logged = true;
+                applicationLogger.info(ApplicationMsgs.BABEL_REQUEST_PAYLOAD, "Request payload " + size
+                        + " bytes read, SHA-256 " + HexFormat.of().formatHex(getMessageDigest().digest()));
+            }
+        }
+    }
 }
@@ -0,0 +1,51 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.filters;
+
+import java.util.Locale;
+
+/**
+ * How much of a request payload is written to the application log.
+ */
+public enum PayloadLoggingPolicy {
+    /** The payload is not logged (and is not read by the logging filter). */
+    OFF,
+    /** The start of the payload is logged, up to the configured maximum size. */
+    CAPPED,
+    /** The start of the payload is logged (as for CAPPED) for one in every N requests. */
+    SAMPLED,
+    /** The size and SHA-256 digest of the payload are logged once the payload has been read. */
+    HASH;
+
+    /**
+     * Get the policy for the configured value.
+     *
+     * @param value
+     *            the name of the policy (case-insensitive)
+     * @return the policy
+     * @throws IllegalArgumentException
+     *             if there is no such policy
+     */
+    public static PayloadLoggingPolicy fromValue(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
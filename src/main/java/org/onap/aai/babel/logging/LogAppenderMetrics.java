@@ -0,0 +1,79 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the queue depth, remaining capacity and discarded events of each {@link MeteredAsyncAppender} as metrics,
+ * tagged with the appender name. A growing queue or discard count shows that logging is holding up the application.
+ */
+@Component
+public class LogAppenderMetrics implements MeterBinder {
+
+    static final String METRIC_PREFIX = "babel.logging.queue";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (loggerFactory instanceof LoggerContext loggerContext) {
+            bindTo(registry, loggerContext);
+        }
+    }
+
+    void bindTo(MeterRegistry registry, LoggerContext loggerContext) {
+        for (MeteredAsyncAppender appender : findAppenders(loggerContext).values()) {
+            Gauge.builder(METRIC_PREFIX + ".depth", appender, MeteredAsyncAppender::getNumberOfElementsInQueue)
+                    .tag("appender", appender.getName()).register(registry);
+            Gauge.builder(METRIC_PREFIX + ".remaining", appender, MeteredAsyncAppender::getRemainingCapacity)
+                    .tag("appender", appender.getName()).register(registry);
+            FunctionCounter.builder(METRIC_PREFIX + ".discarded", appender, MeteredAsyncAppender::getDiscardedCount)
+                    .tag("appender", appender.getName()).register(registry);
+        }
+    }
+
+    private Map<String, MeteredAsyncAppender> findAppenders(LoggerContext loggerContext) {
+        Map<String, MeteredAsyncAppender> appenders = new LinkedHashMap<>();
+        for (Logger logger : loggerContext.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> iterator = logger.iteratorForAppenders();
+            while (iterator.hasNext()) {
+                if (iterator.next() instanceof MeteredAsyncAppender appender) {
+                    appenders.putIfAbsent(appender.getName(), appender);
+                }
+            }
+        }
+        return appenders;
+    }
+}
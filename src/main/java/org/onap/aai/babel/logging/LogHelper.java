@@ -23,9 +23,9 @@ package org.onap.aai.babel.logging;
 import static com.att.eelf.configuration.Configuration.MDC_SERVICE_NAME;
 
 import java.io.File;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -128,11 +128,15 @@ public enum LogHelper implements Logger {
     private static final EELFLogger auditLogger = EELFManager.getAuditLogger();
     private static final EELFLogger metricsLogger = EELFManager.getMetricsLogger();
 
-    /** Formatting for timestamps logged as Strings (from the MDC) */
-    private DateFormat timestampFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
 
-    // Records the elapsed time (since the start of servicing a request) for audit logging
-    private StopWatch auditStopwatch;
+    /** Formatting for timestamps logged as Strings (from the MDC). The formatter is immutable and thread-safe. */
+    private final DateTimeFormatter timestampFormat =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSXXX").withZone(ZoneId.systemDefault());
+
+    // Records the elapsed time (since the start of servicing a request) for audit logging. Each request is serviced
+    // by a single thread, so the stopwatch is held per thread (alongside the thread's MDC).
+    private final ThreadLocal<StopWatch> auditStopwatch = new ThreadLocal<>();
 
     /**
      * Initialises the MDC (logging context) with default values, to support any logging of messages BEFORE the
@@ -141,7 +145,7 @@ public enum LogHelper implements Logger {
     private LogHelper() {
         setContextValue(MDC_SERVICE_NAME, SERVICE_NAME_VALUE);
         // This value is not expected to be used in the default logging configuration
-        setContextValue(MdcContext.MDC_START_TIME, timestampFormat.format(new Date()));
+        setContextValue(MdcContext.MDC_START_TIME, timestampFormat.format(Instant.now()));
     }
 
     /**
@@ -159,8 +163,9 @@ public enum LogHelper implements Logger {
      * @param servletRequest the request
      */
     public void startAudit(final MultivaluedMap<String, String> headers, ServletRequest servletRequest) {
-        auditStopwatch = new StopWatch();
-        auditStopwatch.start();
+        StopWatch stopwatch = new StopWatch();
+        stopwatch.start();
+        auditStopwatch.set(stopwatch);
 
         Optional<String> requestId = Optional.empty();
         String serviceInstanceId = null;
@@ -253,14 +258,17 @@ public enum LogHelper implements Logger {
      * @param args the argument(s) required to populate the Audit Message log content
      */
     public void logAudit(StatusCode status, String responseCode, String responseDescription, final String... args) {
-        if (auditStopwatch == null) {
+        StopWatch stopwatch = auditStopwatch.get();
+        // The stopwatch belongs to this request only: a pooled thread must not carry it into the next request
+        auditStopwatch.remove();
+        if (stopwatch == null) {
             debug("Unexpected program state: audit stopwatch not started");
-            auditStopwatch = new StopWatch();
-            auditStopwatch.start();
+            stopwatch = new StopWatch();
+            stopwatch.start();
         }
 
         if (auditLogger.isInfoEnabled()) {
-            setMdcElapsedTime(auditStopwatch);
+            setMdcElapsedTime(stopwatch);
             setContextValue(MdcParameter.STATUS_CODE, status.toString());
             setContextValue(MdcParameter.RESPONSE_CODE, responseCode);
             setContextValue(MdcParameter.RESPONSE_DESCRIPTION, responseDescription);
@@ -287,7 +295,12 @@ public enum LogHelper implements Logger {
      */
     public void logAuditError(Exception e) {
         Status status = Status.INTERNAL_SERVER_ERROR;
-        logAudit(StatusCode.ERROR, Integer.toString(status.getStatusCode()), status.getReasonPhrase(), e.getMessage());
+        try {
+            logAudit(StatusCode.ERROR, Integer.toString(status.getStatusCode()), status.getReasonPhrase(),
+                    e.getMessage());
+        } finally {
+            auditStopwatch.remove();
+        }
     }
 
     /**
@@ -431,14 +444,17 @@ public enum LogHelper implements Logger {
     }
 
     /**
-     * Get the method name for a calling method (from the current stack trace)
+     * Get the method name for a calling method (from the current stack). Only the frames up to the calling method are
+     * walked, rather than capturing the whole stack trace.
      *
      * @param level number of levels for the caller (not including this method)
      * @return the class and name of the calling method in the form "class#method"
+     * @throws IllegalArgumentException if the stack has no caller at this level
      */
     public static String getCallerMethodName(int level) {
-        StackTraceElement callingMethod = Thread.currentThread().getStackTrace()[level + 2];
-        return callingMethod.getClassName() + "#" + callingMethod.getMethodName();
+        return STACK_WALKER.walk(frames -> frames.skip(level + 1L).findFirst())
+                .map(frame -> frame.getClassName() + "#" + frame.getMethodName())
+                .orElseThrow(() -> new IllegalArgumentException("No calling method at level " + level));
     }
 
     /**
@@ -471,8 +487,9 @@ public enum LogHelper implements Logger {
         long startTime = stopwatch.getStartTime();
         long elapsedTime = stopwatch.getTime();
 
-        setContextValue(MdcParameter.BEGIN_TIMESTAMP, timestampFormat.format(startTime));
-        setContextValue(MdcParameter.END_TIMESTAMP, timestampFormat.format(startTime + elapsedTime));
+        setContextValue(MdcParameter.BEGIN_TIMESTAMP, timestampFormat.format(Instant.ofEpochMilli(startTime)));
+        setContextValue(MdcParameter.END_TIMESTAMP,
+                timestampFormat.format(Instant.ofEpochMilli(startTime + elapsedTime)));
         setContextValue(MdcParameter.ELAPSED_TIME, Long.toString(elapsedTime)); // Milliseconds
     }
 
@@ -0,0 +1,109 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An asynchronous appender with a bounded queue that counts the events it discards. The worker thread writes the
+ * queued events in batches, so a slow log destination delays the writer rather than the request threads.
+ *
+ * <p>
+ * The drop policy is configured by the standard AsyncAppender settings:
+ * <ul>
+ * <li>when the remaining capacity of the queue falls below the <code>discardingThreshold</code>, events at INFO level
+ * and below are discarded (a threshold of 0 never discards any event);</li>
+ * <li>when the queue is full, an event is dropped if <code>neverBlock</code> is set, otherwise the logging thread waits
+ * for space in the queue.</li>
+ * </ul>
+ * In addition, a <code>sampleRate</code> of N (greater than 1) keeps one in every N of the events that would otherwise
+ * be discarded by the threshold, so that some of these events are still recorded when the queue is under pressure.
+ *
+ * <p>
+ * The base class ignores the result of its non-blocking offer, so with <code>neverBlock</code> set the events are
+ * offered while holding a lock: no other logging thread can take the last free slot between the capacity check and
+ * the offer, and so every dropped event is counted. The event is prepared for deferred processing before the lock is
+ * taken.
+ * </p>
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discardedEvents = new LongAdder();
+    private final AtomicLong sampleCount = new AtomicLong();
+    private final Object offerLock = new Object();
+    private int sampleRate = 0;
+    private int sheddingThreshold = 0;
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @return the number of events discarded (or dropped) since this appender was created
+     */
+    public long getDiscardedCount() {
+        return discardedEvents.sum();
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        if (isStarted()) {
+            // The threshold (or its default value) is applied by this class, so that the discarded events are counted
+            sheddingThreshold = getDiscardingThreshold();
+            setDiscardingThreshold(0);
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remainingCapacity = getRemainingCapacity();
+        if (remainingCapacity < sheddingThreshold && isDiscardable(event) && !isSampled()) {
+            discardedEvents.increment();
+            return;
+        }
+        if (isNeverBlock()) {
+            preprocess(event);
+            synchronized (offerLock) {
+                // Only the worker removes events from the queue, so the event cannot be dropped if there is space
+                if (getRemainingCapacity() == 0) {
+                    discardedEvents.increment();
+                    return;
+                }
+                super.append(event);
+            }
+        } else {
+            super.append(event);
+        }
+    }
+
+    private boolean isSampled() {
+        return sampleRate > 1 && sampleCount.getAndIncrement() % sampleRate == 0;
+    }
+}
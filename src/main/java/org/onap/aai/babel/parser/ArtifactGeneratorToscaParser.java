@@ -30,8 +30,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -83,8 +85,23 @@ public class ArtifactGeneratorToscaParser {
 
     private static final String VERSION = "version";
 
+    private static final String VF_MODULE_GROUP_TYPE = "org.openecomp.groups.VfModule";
+    private static final String GROUP_NAME_SEPARATOR = "..";
+
     private ISdcCsarHelper csarHelper;
 
+    /**
+     * The service level VfModule groups, keyed by the (normalised) component instance name with which each group name
+     * starts. Built on first use.
+     */
+    private Map<String, List<Group>> vfModuleGroups;
+
+    /**
+     * The position of each Node Template (by name) within its substitution mappings. Built on first use of each
+     * substitution mappings.
+     */
+    private final Map<SubstitutionMappings, Map<String, Integer>> nodeTemplatePositions = new IdentityHashMap<>();
+
     /**
      * Constructs using csarHelper
      *
@@ -96,7 +113,8 @@ public class ArtifactGeneratorToscaParser {
     }
 
     /**
-     * Initializes the group filtering and TOSCA to Widget mapping configuration.
+     * Initializes the group filtering and TOSCA to Widget mapping configuration. The new configuration replaces the
+     * existing configuration in a single step, once it has been read and validated in full.
      *
      * @param configLocation
      *            the pathname to the JSON mappings file
@@ -122,9 +140,7 @@ public class ArtifactGeneratorToscaParser {
             throw new IOException("There is no content for the Mappings Configuration " + configLocation);
         }
 
-        WidgetConfigurationUtil.setSupportedInstanceGroups(config.getInstanceGroupTypes());
-        WidgetConfigurationUtil.setWidgetTypes(config.getWidgetTypes());
-        WidgetConfigurationUtil.setWidgetMappings(config.getWidgetMappings());
+        WidgetConfigurationUtil.setConfiguration(config, configLocation);
     }
 
     /**
@@ -221,19 +237,40 @@ public class ArtifactGeneratorToscaParser {
     }
 
     /**
-     * Implementation taken from the sdc-tosca parser (deprecated method).
+     * Implementation taken from the sdc-tosca parser (deprecated method). The service level groups are indexed once,
+     * rather than being filtered for every VF node template.
      *
      * @param serviceVfNode
      *            a VF resource Node Template
      * @return all service level VfModule groups with a name matching that of the supplied VF node template
      */
-    private List<Group> getVfModuleGroups(NodeTemplate serviceVfNode) {
+    List<Group> getVfModuleGroups(NodeTemplate serviceVfNode) {
+        if (vfModuleGroups == null) {
+            vfModuleGroups = indexVfModuleGroups(ToscaParser.getServiceLevelGroups(csarHelper));
+        }
         String instanceName = SdcToscaUtility.normaliseComponentInstanceName(serviceVfNode.getName());
+        return vfModuleGroups.getOrDefault(instanceName, Collections.emptyList());
+    }
 
-        return ToscaParser.getServiceLevelGroups(csarHelper).stream()
-                .filter(group -> "org.openecomp.groups.VfModule".equals(group.getTypeDefinition().getType())
-                        && group.getName().startsWith(instanceName))
-                .collect(Collectors.toList());
+    /**
+     * Index the VfModule groups by component instance name. SDC names each VfModule group with the normalised name of
+     * its component instance, followed by "..", the module name, "..", and the module number.
+     *
+     * @param serviceGroups
+     *            the service level groups
+     * @return the VfModule groups (in their original order) keyed by component instance name
+     */
+    private static Map<String, List<Group>> indexVfModuleGroups(List<Group> serviceGroups) {
+        Map<String, List<Group>> index = new HashMap<>();
+        for (Group group : serviceGroups) {
+            if (VF_MODULE_GROUP_TYPE.equals(group.getTypeDefinition().getType())) {
+                String groupName = group.getName();
+                int separator = groupName.indexOf(GROUP_NAME_SEPARATOR);
+                String instanceName = separator == -1 ? groupName : groupName.substring(0, separator);
+                index.computeIfAbsent(instanceName, k -> new ArrayList<>()).add(group);
+            }
+        }
+        return index;
     }
 
     /**
@@ -374,21 +411,44 @@ public class ArtifactGeneratorToscaParser {
     /**
      * @param substitutionMappings
      * @param vfModuleInvariantUuid
-     * @return all serviceNode child Node Templates which are members of the first VF Module Group
+     * @return all serviceNode child Node Templates which are members of the first VF Module Group, in the order of
+     *         the Node Templates
      */
-    private List<NodeTemplate> getVfModuleMembers(SubstitutionMappings substitutionMappings,
-            String vfModuleInvariantUuid) {
+    List<NodeTemplate> getVfModuleMembers(SubstitutionMappings substitutionMappings, String vfModuleInvariantUuid) {
         return Optional.ofNullable(substitutionMappings.getGroups()) //
                 .map(groups -> groups.stream() //
                         .filter(filterByVfModuleInvariantUuid(vfModuleInvariantUuid)) //
                         .findFirst().map(module -> Optional.ofNullable(module.getMembers()).orElse(new ArrayList<>()))
                         .orElse(new ArrayList<>()))
-                .map(members -> substitutionMappings.getNodeTemplates().stream()
-                        .filter(nt -> members.contains(nt.getName())) //
-                        .collect(Collectors.toList()))
+                .map(members -> getNodeTemplates(substitutionMappings, members))
                 .orElse(Collections.emptyList());
     }
 
+    /**
+     * Find the named Node Templates using an index of the substitution mappings' Node Templates.
+     *
+     * @param substitutionMappings
+     *            the substitution mappings containing the Node Templates
+     * @param names
+     *            the names of the Node Templates to find
+     * @return the Node Templates found, in the order of the substitution mappings
+     */
+    private List<NodeTemplate> getNodeTemplates(SubstitutionMappings substitutionMappings, List<String> names) {
+        List<NodeTemplate> nodeTemplates = substitutionMappings.getNodeTemplates();
+        Map<String, Integer> positions =
+                nodeTemplatePositions.computeIfAbsent(substitutionMappings, sm -> indexByName(nodeTemplates));
+        return names.stream().map(positions::get).filter(Objects::nonNull).distinct().sorted()
+                .map(nodeTemplates::get).collect(Collectors.toList());
+    }
+
+    private static Map<String, Integer> indexByName(List<NodeTemplate> nodeTemplates) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < nodeTemplates.size(); i++) {
+            positions.putIfAbsent(nodeTemplates.get(i).getName(), i);
+        }
+        return positions;
+    }
+
     private Predicate<? super Group> filterByVfModuleInvariantUuid(String vfModuleInvariantUuid) {
         return nt -> (nt.getMetadata() != null && vfModuleInvariantUuid
                 .equals(nt.getMetadata().getValue(SdcPropertyNames.PROPERTY_NAME_VFMODULEMODELINVARIANTUUID)));
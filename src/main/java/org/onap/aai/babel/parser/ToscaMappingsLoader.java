@@ -0,0 +1,121 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Timer;
+import java.util.concurrent.TimeUnit;
+import org.onap.aai.auth.FileWatcher;
+import org.onap.aai.babel.logging.ApplicationMsgs;
+import org.onap.aai.babel.logging.LogHelper;
+import org.onap.aai.babel.xml.generator.data.WidgetConfigurationUtil;
+import org.onap.aai.cl.api.Logger;
+
+/**
+ * Loads the TOSCA mappings configuration once, rather than for every request, and reloads it whenever the mappings
+ * file is changed. Checking that the configuration has been loaded costs a single volatile read. A reload replaces
+ * the whole configuration in one step; if the changed file cannot be loaded, the previous configuration is retained.
+ */
+public final class ToscaMappingsLoader {
+
+    private static final Logger log = LogHelper.INSTANCE;
+
+    static final long WATCH_PERIOD_MILLIS = TimeUnit.SECONDS.toMillis(1);
+
+    private static Timer timer;
+    private static String watchedLocation;
+
+    /*
+     * Private constructor to prevent instantiation.
+     */
+    private ToscaMappingsLoader() {
+        throw new UnsupportedOperationException("This static class should not be instantiated!");
+    }
+
+    /**
+     * Ensure that the current widget configuration was loaded from the specified mappings file, loading the file (and
+     * watching it for changes) if it was not.
+     *
+     * @param configLocation
+     *            the pathname to the JSON mappings file
+     * @throws IOException
+     *             if the file content could not be read successfully
+     */
+    public static void ensureLoaded(String configLocation) throws IOException {
+        if (!configLocation.equals(WidgetConfigurationUtil.getConfigurationSource())) {
+            load(configLocation);
+        }
+    }
+
+    /**
+     * Stop watching the mappings file for changes.
+     */
+    public static synchronized void stopWatching() {
+        if (timer != null) {
+            timer.cancel();
+            timer = null;
+            watchedLocation = null;
+        }
+    }
+
+    private static synchronized void load(String configLocation) throws IOException {
+        if (!configLocation.equals(WidgetConfigurationUtil.getConfigurationSource())) {
+            ArtifactGeneratorToscaParser.initToscaMappingsConfiguration(configLocation);
+        }
+        watch(configLocation);
+    }
+
+    static synchronized void reload(String configLocation) {
+        try {
+            ArtifactGeneratorToscaParser.initToscaMappingsConfiguration(configLocation);
+            log.info(ApplicationMsgs.DISTRIBUTION_EVENT, "Reloaded TOSCA mappings from " + configLocation
+                    + " (version " + WidgetConfigurationUtil.getRegistry().getVersion() + ")");
+        } catch (IOException | RuntimeException e) {
+            log.error(ApplicationMsgs.LOAD_PROPERTIES, e, configLocation);
+        }
+    }
+
+    private static void watch(String configLocation) {
+        if (!configLocation.equals(watchedLocation)) {
+            stopWatching();
+            timer = new Timer("tosca-mappings-watcher", true);
+            timer.schedule(new MappingsFileWatcher(configLocation), WATCH_PERIOD_MILLIS, WATCH_PERIOD_MILLIS);
+            watchedLocation = configLocation;
+            log.debug("TOSCA mappings watcher interval = " + WATCH_PERIOD_MILLIS);
+        }
+    }
+
+    private static class MappingsFileWatcher extends FileWatcher {
+        private final String configLocation;
+
+        MappingsFileWatcher(String configLocation) {
+            super(new File(configLocation));
+            this.configLocation = configLocation;
+        }
+
+        @Override
+        protected void onChange(File file) {
+            reload(configLocation);
+        }
+    }
+}
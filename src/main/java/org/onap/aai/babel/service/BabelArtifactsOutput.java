@@ -0,0 +1,82 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.service;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.onap.aai.babel.service.data.BabelArtifact;
+
+/**
+ * Writes the generated artifacts to the response as a JSON array, serialising one artifact at a time directly to the
+ * output stream instead of building the whole response as a single String. The output is identical to
+ * {@code gson.toJson(artifacts)}.
+ */
+public class BabelArtifactsOutput implements StreamingOutput {
+
+    private final Gson gson;
+    private final List<BabelArtifact> artifacts;
+
+    /**
+     * Create the response output for the supplied artifacts.
+     *
+     * @param gson
+     *            the JSON serializer (and settings) for the artifacts
+     * @param artifacts
+     *            the generated artifacts
+     */
+    public BabelArtifactsOutput(Gson gson, List<BabelArtifact> artifacts) {
+        this.gson = gson;
+        this.artifacts = artifacts;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        JsonWriter jsonWriter =
+                gson.newJsonWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
+        jsonWriter.beginArray();
+        for (BabelArtifact artifact : artifacts) {
+            gson.toJson(artifact, BabelArtifact.class, jsonWriter);
+        }
+        jsonWriter.endArray();
+        // The output stream is owned (and closed) by the container
+        jsonWriter.flush();
+    }
+
+    public List<BabelArtifact> getArtifacts() {
+        return artifacts;
+    }
+
+    /**
+     * Summarise the artifacts (for logging) without serialising their content.
+     */
+    @Override
+    public String toString() {
+        return "Generated " + artifacts.size() + " artifacts";
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.service;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.onap.aai.babel.service.data.BabelBatchResult;
+
+/**
+ * Writes the results of a batch request to the response as a JSON array, serialising one result at a time directly to
+ * the output stream instead of building the whole response as a single String. The output is identical to
+ * {@code gson.toJson(results)}.
+ */
+public class BabelBatchOutput implements StreamingOutput {
+
+    private final Gson gson;
+    private final List<BabelBatchResult> results;
+
+    /**
+     * Create the response output for the supplied batch results.
+     *
+     * @param gson
+     *            the JSON serializer (and settings) for the results
+     * @param results
+     *            the result of each entry of the batch
+     */
+    public BabelBatchOutput(Gson gson, List<BabelBatchResult> results) {
+        this.gson = gson;
+        this.results = results;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        JsonWriter jsonWriter =
+                gson.newJsonWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
+        jsonWriter.beginArray();
+        for (BabelBatchResult result : results) {
+            gson.toJson(result, BabelBatchResult.class, jsonWriter);
+        }
+        jsonWriter.endArray();
+        // The output stream is owned (and closed) by the container
+        jsonWriter.flush();
+    }
+
+    public List<BabelBatchResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Summarise the batch results (for logging) without serialising their content.
+     */
+    @Override
+    public String toString() {
+        int artifacts = 0;
+        int failed = 0;
+        for (BabelBatchResult result : results) {
+            if (result.getArtifacts() != null) {
+                artifacts += result.getArtifacts().size();
+            }
+            if (result.getStatus() / 100 != 2) {
+                failed++;
+            }
+        }
+        return "Generated " + artifacts + " artifacts for " + results.size() + " requests (" + failed + " failed)";
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright © 2017-2018 AT&T Intellectual Property. All rights reserved.
+ * Copyright © 2017-2018 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.onap.aai.babel.service;
+
+import java.util.List;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.onap.aai.babel.service.data.BabelBatchResult;
+import org.onap.aai.babel.service.data.BabelRequest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/** Generate artifacts for a batch of requests */
+@Path("/app")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Babel Services", description = "APIs for generating artifacts from TOSCA models in AAI Babel")
+public interface GenerateArtifactsBatchController {
+
+    @POST
+    @Path("/generateArtifacts/batch")
+    @Operation(summary = "Generate artifacts for a batch of requests", description = "Takes a list of BabelRequests and generates AAI-compatible artifacts for each of them concurrently. The response contains one result for each request (in the same order), holding either the artifacts or the error for that request.", responses = {
+            @ApiResponse(responseCode = "200", description = "Batch processed (see the status of each result)", content = @Content(mediaType = MediaType.APPLICATION_JSON, array = @ArraySchema(schema = @Schema(implementation = BabelBatchResult.class)))),
+            @ApiResponse(responseCode = "400", description = "Empty or oversized batch"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (authentication failure)")
+    })
+    Response generateArtifacts(
+            @RequestBody(required = true, description = "The BabelRequests containing TOSCA service model artifacts.", content = @Content(mediaType = MediaType.APPLICATION_JSON, array = @ArraySchema(schema = @Schema(implementation = BabelRequest.class)))) List<BabelRequest> babelRequests);
+}
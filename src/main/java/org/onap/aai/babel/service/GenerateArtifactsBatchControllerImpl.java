@@ -0,0 +1,227 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright © 2017-2018 AT&T Intellectual Property. All rights reserved.
+ * Copyright © 2017-2018 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.service;
+
+import com.google.gson.Gson;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
+
+import org.apache.commons.lang3.time.StopWatch;
+import org.onap.aai.babel.csar.CsarConverterException;
+import org.onap.aai.babel.csar.extractor.InvalidArchiveException;
+import org.onap.aai.babel.csar.vnfcatalog.ToscaToCatalogException;
+import org.onap.aai.babel.logging.ApplicationMsgs;
+import org.onap.aai.babel.logging.LogHelper;
+import org.onap.aai.babel.service.data.BabelBatchResult;
+import org.onap.aai.babel.service.data.BabelRequest;
+import org.onap.aai.babel.util.RequestValidationException;
+import org.onap.aai.babel.util.RequestValidator;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Generate SDC Artifacts for a batch of requests. The entries are processed concurrently on a bounded thread pool, and
+ * the failure of one entry is reported in its own result without affecting the other entries. A batch is rejected if
+ * it exceeds the configured number of entries or the configured total size of the (Base64 encoded) CSARs.
+ */
+@Controller
+public class GenerateArtifactsBatchControllerImpl implements GenerateArtifactsBatchController {
+
+    private static final LogHelper applicationLogger = LogHelper.INSTANCE;
+
+    private final Gson gson;
+    private final GenerateArtifactsControllerImpl generateArtifactsController;
+    private final ExecutorService executor;
+    private final int maxBatchSize;
+    private final long maxBatchBytes;
+
+    /**
+     * Create the batch controller.
+     *
+     * @param gson
+     *            the JSON serializer for the response
+     * @param generateArtifactsController
+     *            the controller which generates the artifacts for a single request
+     * @param threads
+     *            the number of batch entries which may be processed concurrently
+     * @param maxBatchSize
+     *            the maximum number of entries in a batch
+     * @param maxBatchBytes
+     *            the maximum total size of the Base64 encoded CSARs in a batch
+     */
+    @Autowired
+    public GenerateArtifactsBatchControllerImpl(Gson gson, GenerateArtifactsControllerImpl generateArtifactsController,
+            @Value("${babel.batch.threads:4}") int threads, @Value("${babel.batch.max-size:200}") int maxBatchSize,
+            @Value("${babel.batch.max-bytes:104857600}") long maxBatchBytes) {
+        this.gson = gson;
+        this.generateArtifactsController = generateArtifactsController;
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("babel-batch-"));
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchBytes = maxBatchBytes;
+    }
+
+    @Override
+    public Response generateArtifacts(List<BabelRequest> babelRequests) {
+        StopWatch stopwatch = new StopWatch();
+        stopwatch.start();
+
+        Response response;
+        try {
+            if (babelRequests == null || babelRequests.isEmpty()) {
+                response = buildResponse(Status.BAD_REQUEST, "No requests found in the batch.");
+            } else if (babelRequests.size() > maxBatchSize) {
+                response = buildResponse(Status.BAD_REQUEST,
+                        "The batch contains more than " + maxBatchSize + " requests.");
+            } else if (getCsarBytes(babelRequests) > maxBatchBytes) {
+                response = buildResponse(Status.BAD_REQUEST,
+                        "The CSARs in the batch exceed the maximum total size of " + maxBatchBytes + " bytes.");
+            } else {
+                response = Response.ok(new BabelBatchOutput(gson, generateAll(babelRequests)))
+                        .type(MediaType.APPLICATION_JSON).build();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            applicationLogger.error(ApplicationMsgs.PROCESS_REQUEST_ERROR, e);
+            response = buildResponse(Status.SERVICE_UNAVAILABLE, "The batch request was interrupted.");
+        } finally {
+            if (applicationLogger.isDebugEnabled()) {
+                applicationLogger.debug(stopwatch + LogHelper.getCallerMethodName(0));
+            }
+        }
+
+        return GenerateArtifactsControllerImpl.logAudit(response);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private long getCsarBytes(List<BabelRequest> babelRequests) {
+        long csarBytes = 0;
+        for (BabelRequest babelRequest : babelRequests) {
+            if (babelRequest != null && babelRequest.getCsar() != null) {
+                csarBytes += babelRequest.getCsar().length();
+            }
+        }
+        return csarBytes;
+    }
+
+    private List<BabelBatchResult> generateAll(List<BabelRequest> babelRequests) throws InterruptedException {
+        Map<String, String> loggingContext = MDC.getCopyOfContextMap();
+        List<Callable<BabelBatchResult>> tasks = new ArrayList<>();
+        for (BabelRequest babelRequest : babelRequests) {
+            tasks.add(() -> generate(babelRequest, loggingContext));
+        }
+
+        List<BabelBatchResult> results = new ArrayList<>();
+        for (Future<BabelBatchResult> future : executor.invokeAll(tasks)) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                // Not expected, because generate() handles every exception
+                applicationLogger.error(ApplicationMsgs.PROCESS_REQUEST_ERROR, e);
+                results.add(new BabelBatchResult(null, null, Status.INTERNAL_SERVER_ERROR.getStatusCode(), null,
+                        "Error generating artifacts."));
+            }
+        }
+        return results;
+    }
+
+    private BabelBatchResult generate(BabelRequest babelRequest, Map<String, String> loggingContext) {
+        if (loggingContext != null) {
+            MDC.setContextMap(loggingContext);
+        }
+        try {
+            return generate(babelRequest);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    /**
+     * Generate the artifacts for a single entry of the batch.
+     *
+     * @param babelRequest
+     *            the batch entry
+     * @return the generated artifacts, or else the status and message of the error
+     */
+    private BabelBatchResult generate(BabelRequest babelRequest) {
+        if (babelRequest == null) {
+            return error(null, Status.BAD_REQUEST, "No request found.");
+        }
+
+        try {
+            new RequestValidator().validateRequest(babelRequest);
+            byte[] csarFile = Base64.getDecoder().decode(babelRequest.getCsar());
+            return new BabelBatchResult(babelRequest.getArtifactName(), babelRequest.getArtifactVersion(),
+                    Status.OK.getStatusCode(), generateArtifactsController.generateArtifactList(csarFile,
+                            babelRequest.getArtifactName(), babelRequest.getArtifactVersion()),
+                    null);
+        } catch (RequestValidationException e) {
+            applicationLogger.error(ApplicationMsgs.PROCESS_REQUEST_ERROR, e);
+            return error(babelRequest, Status.BAD_REQUEST, e.getLocalizedMessage());
+        } catch (IllegalArgumentException e) {
+            applicationLogger.error(ApplicationMsgs.INVALID_REQUEST_JSON, e);
+            return error(babelRequest, Status.BAD_REQUEST, "Malformed request.");
+        } catch (InvalidArchiveException e) {
+            applicationLogger.error(ApplicationMsgs.INVALID_CSAR_FILE, e);
+            return error(babelRequest, Status.BAD_REQUEST, e.getLocalizedMessage());
+        } catch (CsarConverterException e) {
+            applicationLogger.error(ApplicationMsgs.INVALID_CSAR_FILE, e);
+            return error(babelRequest, Status.INTERNAL_SERVER_ERROR,
+                    GenerateArtifactsControllerImpl.XML_MODEL_ERROR_MESSAGE);
+        } catch (ToscaToCatalogException e) {
+            applicationLogger.error(ApplicationMsgs.PROCESSING_VNF_CATALOG_ERROR, e);
+            return error(babelRequest, Status.INTERNAL_SERVER_ERROR,
+                    GenerateArtifactsControllerImpl.VNF_CATALOG_ERROR_MESSAGE);
+        } catch (RuntimeException e) {
+            applicationLogger.error(ApplicationMsgs.PROCESS_REQUEST_ERROR, e);
+            return error(babelRequest, Status.INTERNAL_SERVER_ERROR, "Error generating artifacts.");
+        }
+    }
+
+    private BabelBatchResult error(BabelRequest babelRequest, Status status, String message) {
+        return babelRequest == null ? new BabelBatchResult(null, null, status.getStatusCode(), null, message)
+                : new BabelBatchResult(babelRequest.getArtifactName(), babelRequest.getArtifactVersion(),
+                        status.getStatusCode(), null, message);
+    }
+
+    private Response buildResponse(Status status, String entity) {
+        return Response.status(status).entity(entity).type(MediaType.APPLICATION_JSON).build();
+    }
+}
@@ -20,16 +20,19 @@
  */
 package org.onap.aai.babel.service;
 
+import java.io.InputStream;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.onap.aai.auth.AAIAuthException;
 import org.onap.aai.babel.service.data.BabelRequest;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -40,7 +43,6 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Path("/app")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
-@FunctionalInterface
 @Tag(name = "Babel Services", description = "APIs for generating artifacts from TOSCA models in AAI Babel")
 public interface GenerateArtifactsController {
 
@@ -55,4 +57,20 @@ public interface GenerateArtifactsController {
     Response generateArtifacts(
             @RequestBody(required = true, description = "The BabelRequest containing TOSCA service model artifacts.", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = BabelRequest.class))) BabelRequest babelRequest)
             throws AAIAuthException;
+
+    @POST
+    @Path("/generateArtifacts")
+    @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+    @Operation(summary = "Generate artifacts from binary CSAR content", description = "Takes the raw (not Base64 encoded) CSAR content as the request body and generates AAI-compatible artifacts.", responses = {
+            @ApiResponse(responseCode = "200", description = "Artifacts generated successfully", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = Response.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request or malformed input"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (authentication failure)"),
+            @ApiResponse(responseCode = "413", description = "CSAR content exceeds the maximum archive size"),
+            @ApiResponse(responseCode = "500", description = "Internal server error during artifact generation")
+    })
+    Response generateArtifacts(
+            @Parameter(required = true, description = "The name of the CSAR artifact.") @QueryParam("artifactName") String artifactName,
+            @Parameter(required = true, description = "The version of the CSAR artifact.") @QueryParam("artifactVersion") String artifactVersion,
+            @RequestBody(required = true, description = "The CSAR content.", content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM)) InputStream csar)
+            throws AAIAuthException;
 }
@@ -26,14 +26,21 @@ import com.google.gson.JsonSyntaxException;
 
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
 import jakarta.ws.rs.core.*;
 import jakarta.ws.rs.core.Response.Status;
 
 import org.apache.commons.lang3.time.StopWatch;
+import org.onap.aai.babel.csar.CsarContext;
 import org.onap.aai.babel.csar.CsarConverterException;
 import org.onap.aai.babel.csar.CsarToXmlConverter;
+import org.onap.aai.babel.csar.extractor.ArchiveLimits;
+import org.onap.aai.babel.csar.extractor.InvalidArchiveException;
+import org.onap.aai.babel.csar.extractor.UncheckedArchiveException;
 import org.onap.aai.babel.csar.vnfcatalog.ToscaToCatalogException;
 import org.onap.aai.babel.csar.vnfcatalog.VnfVendorImageExtractor;
 import org.onap.aai.babel.logging.ApplicationMsgs;
@@ -54,15 +61,32 @@ import org.springframework.stereotype.Controller;
 @RequiredArgsConstructor
 public class GenerateArtifactsControllerImpl implements GenerateArtifactsController {
 
+    static final String XML_MODEL_ERROR_MESSAGE = "Error converting CSAR artifact to XML model.";
+    static final String VNF_CATALOG_ERROR_MESSAGE = "Error converting CSAR artifact to VNF catalog.";
+
     private static final LogHelper applicationLogger = LogHelper.INSTANCE;
     private final Gson gson;
+    private final GeneratedArtifactCache artifactCache;
 
     @Override
     public Response generateArtifacts(BabelRequest babelRequest) {
-        Response response;
+        return logAudit(generateArtifactsImpl(babelRequest));
+    }
 
-        response = generateArtifactsImpl(babelRequest);
+    @Override
+    public Response generateArtifacts(String artifactName, String artifactVersion, InputStream csar) {
+        return logAudit(generateArtifactsImpl(artifactName, artifactVersion, csar));
+    }
 
+    /**
+     * Write an audit log entry for the response to a request. The generated artifacts are summarised rather than
+     * serialised into the log.
+     *
+     * @param response
+     *            the response to the request
+     * @return the response
+     */
+    static Response logAudit(Response response) {
         StatusCode statusDescription;
         int statusCode = response.getStatus();
         if (statusCode / 100 == 2) {
@@ -92,35 +116,153 @@ public class GenerateArtifactsControllerImpl implements GenerateArtifactsControl
         try {
             new RequestValidator().validateRequest(babelRequest);
             byte[] csarFile = Base64.getDecoder().decode(babelRequest.getCsar());
+            response = generateArtifacts(csarFile, babelRequest.getArtifactName(), babelRequest.getArtifactVersion());
+        } catch (JsonSyntaxException e) {
+            response = processError(ApplicationMsgs.INVALID_REQUEST_JSON, Status.BAD_REQUEST, e, "Malformed request.");
+        } catch (RequestValidationException e) {
+            response = processError(ApplicationMsgs.PROCESS_REQUEST_ERROR, Status.BAD_REQUEST, //
+                    e, e.getLocalizedMessage());
+        } finally {
+            if (applicationLogger.isDebugEnabled()) {
+                applicationLogger.debug(stopwatch + LogHelper.getCallerMethodName(0));
+            }
+        }
 
-            List<BabelArtifact> babelArtifacts = new CsarToXmlConverter().generateXmlFromCsar(csarFile,
-                    babelRequest.getArtifactName(), babelRequest.getArtifactVersion());
+        return response;
+    }
 
-            BabelArtifact vendorImageConfiguration = new VnfVendorImageExtractor().extract(csarFile);
-            if (vendorImageConfiguration != null) {
-                babelArtifacts.add(vendorImageConfiguration);
+    /**
+     * Generate XML model artifacts from the raw CSAR content supplied as the request body. The content is read
+     * directly from the request stream, without the Base64 String and decoded copy of the JSON request. Content larger
+     * than the uncompressed size limit of the {@link ArchiveLimits} is rejected as too large.
+     *
+     * @param artifactName
+     *            the name of the CSAR artifact
+     * @param artifactVersion
+     *            the version of the CSAR artifact
+     * @param csarStream
+     *            the request body containing the CSAR content
+     * @return response object containing the generated XML models
+     */
+    protected Response generateArtifactsImpl(String artifactName, String artifactVersion, InputStream csarStream) {
+        StopWatch stopwatch = new StopWatch();
+        stopwatch.start();
+
+        Response response;
+
+        try {
+            new RequestValidator().validateRequest(artifactName, artifactVersion);
+            // The body is not read beyond the archive size limit, so oversized content is never held in memory
+            response = generateArtifacts(new ArchiveLimits().read(csarStream), artifactName, artifactVersion);
+        } catch (InvalidArchiveException e) {
+            response = processError(ApplicationMsgs.INVALID_CSAR_FILE, Status.REQUEST_ENTITY_TOO_LARGE, e,
+                    e.getLocalizedMessage());
+        } catch (IOException e) {
+            response = processError(ApplicationMsgs.PROCESS_REQUEST_ERROR, Status.BAD_REQUEST, e,
+                    "Error reading the CSAR content from the request.");
+        } catch (RequestValidationException e) {
+            response = processError(ApplicationMsgs.PROCESS_REQUEST_ERROR, Status.BAD_REQUEST, //
+                    e, e.getLocalizedMessage());
+        } finally {
+            if (applicationLogger.isDebugEnabled()) {
+                applicationLogger.debug(stopwatch + LogHelper.getCallerMethodName(0));
             }
+        }
 
-            response = buildResponse(Status.OK, gson.toJson(babelArtifacts));
-            applicationLogger.info(ApplicationMsgs.DISTRIBUTION_EVENT,LogHelper.getCallerMethodName(0));
-        } catch (JsonSyntaxException e) {
-            response = processError(ApplicationMsgs.INVALID_REQUEST_JSON, Status.BAD_REQUEST, e, "Malformed request.");
+        return response;
+    }
+
+    /**
+     * Generate the XML model artifacts and the VNF catalog from the supplied CSAR content.
+     *
+     * @param csarFile
+     *            the decoded CSAR content
+     * @param artifactName
+     *            the name of the CSAR artifact
+     * @param artifactVersion
+     *            the version of the CSAR artifact
+     * @return response object containing the generated artifacts, or else the error details
+     */
+    private Response generateArtifacts(byte[] csarFile, String artifactName, String artifactVersion) {
+        Response response;
+
+        try {
+            response = Response.status(Status.OK)
+                    .entity(new BabelArtifactsOutput(gson,
+                            generateArtifactList(csarFile, artifactName, artifactVersion)))
+                    .type(MediaType.APPLICATION_JSON).build();
+        } catch (InvalidArchiveException e) {
+            response = processError(ApplicationMsgs.INVALID_CSAR_FILE, Status.BAD_REQUEST, e, e.getLocalizedMessage());
         } catch (CsarConverterException e) {
             response = processError(ApplicationMsgs.INVALID_CSAR_FILE, Status.INTERNAL_SERVER_ERROR, e,
-                    "Error converting CSAR artifact to XML model.");
+                    XML_MODEL_ERROR_MESSAGE);
         } catch (ToscaToCatalogException e) {
             response = processError(ApplicationMsgs.PROCESSING_VNF_CATALOG_ERROR, Status.INTERNAL_SERVER_ERROR, e,
-                    "Error converting CSAR artifact to VNF catalog.");
-        } catch (RequestValidationException e) {
-            response = processError(ApplicationMsgs.PROCESS_REQUEST_ERROR, Status.BAD_REQUEST, //
-                    e, e.getLocalizedMessage());
-        } finally {
-            applicationLogger.debug(stopwatch + LogHelper.getCallerMethodName(0));
+                    VNF_CATALOG_ERROR_MESSAGE);
         }
 
         return response;
     }
 
+    /**
+     * Generate the XML model artifacts and the VNF catalog from the supplied CSAR content, or else return the artifacts
+     * previously generated for the same CSAR content, name and version.
+     *
+     * @param csarFile
+     *            the decoded CSAR content
+     * @param artifactName
+     *            the name of the CSAR artifact
+     * @param artifactVersion
+     *            the version of the CSAR artifact
+     * @return the generated artifacts
+     * @throws InvalidArchiveException
+     *             if the CSAR content exceeds the {@link ArchiveLimits} for decompression, or a YAML entry cannot be
+     *             read
+     * @throws CsarConverterException
+     *             if the XML models cannot be generated
+     * @throws ToscaToCatalogException
+     *             if the VNF catalog cannot be extracted
+     */
+    List<BabelArtifact> generateArtifactList(byte[] csarFile, String artifactName, String artifactVersion)
+            throws InvalidArchiveException, CsarConverterException, ToscaToCatalogException {
+        // Digesting the CSAR is only worthwhile if the result can be cached
+        String cacheKey = artifactCache.isEnabled()
+                ? GeneratedArtifactCache.createKey(csarFile, artifactName, artifactVersion)
+                : null;
+        if (cacheKey != null) {
+            Optional<List<BabelArtifact>> cachedArtifacts = artifactCache.get(cacheKey);
+            if (cachedArtifacts.isPresent()) {
+                applicationLogger.info(ApplicationMsgs.DISTRIBUTION_EVENT, LogHelper.getCallerMethodName(0));
+                return cachedArtifacts.get();
+            }
+        }
+
+        // The CSAR is parsed once and shared by the XML model generator and the VNF catalog extractor
+        try (CsarContext csar = new CsarContext(csarFile)) {
+            // Reject a CSAR which would inflate beyond the limits before it is passed to the extractor or the parser
+            csar.checkArchive();
+
+            List<BabelArtifact> babelArtifacts;
+            try {
+                babelArtifacts = new CsarToXmlConverter().generateXmlFromCsar(csar, artifactName, artifactVersion);
+            } catch (UncheckedArchiveException e) {
+                // A YAML entry which could not be read on demand (e.g. because it exceeds the limits)
+                throw e.getCause();
+            }
+
+            BabelArtifact vendorImageConfiguration = new VnfVendorImageExtractor().extract(csar);
+            if (vendorImageConfiguration != null) {
+                babelArtifacts.add(vendorImageConfiguration);
+            }
+
+            if (cacheKey != null) {
+                artifactCache.put(cacheKey, babelArtifacts);
+            }
+            applicationLogger.info(ApplicationMsgs.DISTRIBUTION_EVENT,LogHelper.getCallerMethodName(0));
+            return babelArtifacts;
+        }
+    }
+
     private Response processError(ApplicationMsgs applicationMsgs, Status responseStatus, Exception e, String message) {
         applicationLogger.setContextValue(MdcParameter.RESPONSE_CODE, String.valueOf(responseStatus.getStatusCode()));
         applicationLogger.setContextValue(MdcParameter.RESPONSE_DESCRIPTION, responseStatus.getReasonPhrase());
@@ -0,0 +1,231 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.onap.aai.babel.logging.LogHelper;
+import org.onap.aai.babel.service.data.BabelArtifact;
+import org.onap.aai.babel.xml.generator.data.WidgetConfigurationUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * A bounded cache of the artifacts generated for a CSAR. SDC distributes the same CSAR many times (retries, multiple
+ * consumers, environment re-syncs) and the generated artifacts depend only on the CSAR content, the artifact name and
+ * version, and the TOSCA mappings configuration. The cache key is a digest of all of these, so a repeated distribution
+ * can be answered without parsing the CSAR again.
+ *
+ * <p>
+ * Entries are evicted in least-recently-used order once the maximum number of entries is reached, and are discarded
+ * once they are older than the configured time to live. A maximum of zero entries disables the cache. Hit, miss and
+ * eviction counts are published to the Micrometer registry.
+ * </p>
+ *
+ * <p>
+ * {@link BabelArtifact} is mutable, so the cache stores its own copies of the artifacts and returns new copies to each
+ * caller; a caller modifying its artifacts cannot affect the cached result or any other caller.
+ * </p>
+ */
+@Component
+public class GeneratedArtifactCache {
+
+    private static final LogHelper applicationLogger = LogHelper.INSTANCE;
+
+    private static final String METRIC_PREFIX = "babel.artifact.cache";
+
+    private final int maxEntries;
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final Map<String, CacheEntry> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    private static class CacheEntry {
+        private final List<BabelArtifact> artifacts;
+        private final Instant created;
+
+        CacheEntry(List<BabelArtifact> artifacts, Instant created) {
+            this.artifacts = artifacts;
+            this.created = created;
+        }
+    }
+
+    /**
+     * Create the cache.
+     *
+     * @param maxEntries
+     *            the maximum number of cached results (0 disables the cache)
+     * @param timeToLiveSeconds
+     *            the number of seconds for which a cached result remains valid
+     * @param meterRegistry
+     *            the registry to which the cache metrics are published
+     */
+    @Autowired
+    public GeneratedArtifactCache(@Value("${babel.artifact.cache.max-entries:100}") int maxEntries,
+            @Value("${babel.artifact.cache.ttl-seconds:3600}") long timeToLiveSeconds, MeterRegistry meterRegistry) {
+        this(maxEntries, Duration.ofSeconds(timeToLiveSeconds), meterRegistry, Clock.systemUTC());
+    }
+
+    GeneratedArtifactCache(int maxEntries, Duration timeToLive, MeterRegistry meterRegistry, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits = meterRegistry.counter(METRIC_PREFIX + ".hits");
+        this.misses = meterRegistry.counter(METRIC_PREFIX + ".misses");
+        this.evictions = meterRegistry.counter(METRIC_PREFIX + ".evictions");
+        Gauge.builder(METRIC_PREFIX + ".size", this, GeneratedArtifactCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Determine whether the cache is enabled. When it is not, callers need not create a cache key.
+     *
+     * @return false if the cache has a maximum of zero entries
+     */
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * Create the cache key for a request. The key is a SHA-256 digest of the CSAR content, the artifact name and
+     * version, and the version of the current widget configuration (so that a change to the TOSCA mappings is never
+     * answered with artifacts generated under the previous mappings). Registry versions only increase, and the
+     * generation which follows a cache miss uses the same or a later registry, so artifacts are never cached under a
+     * version later than the one from which they were generated.
+     *
+     * @param csarArchive
+     *            the CSAR content
+     * @param artifactName
+     *            the name of the CSAR artifact
+     * @param artifactVersion
+     *            the version of the CSAR artifact
+     * @return the cache key
+     */
+    public static String createKey(byte[] csarArchive, String artifactName, String artifactVersion) {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        digest.update(csarArchive);
+        update(digest, artifactName);
+        update(digest, artifactVersion);
+        update(digest, String.valueOf(WidgetConfigurationUtil.getRegistry().getVersion()));
+        return Hex.encodeHexString(digest.digest());
+    }
+
+    /**
+     * Get the cached artifacts for the specified key.
+     *
+     * @param key
+     *            the cache key
+     * @return a copy of the cached list of artifacts, or else empty if there is no valid entry for the key (or the cache
+     *         is disabled)
+     */
+    public synchronized Optional<List<BabelArtifact>> get(String key) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+
+        CacheEntry entry = entries.get(key);
+        if (entry != null && isExpired(entry)) {
+            entries.remove(key);
+            evictions.increment();
+            entry = null;
+        }
+
+        if (entry == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        hits.increment();
+        return Optional.of(copy(entry.artifacts));
+    }
+
+    /**
+     * Store the artifacts generated for the specified key, evicting expired entries and then the least recently used
+     * entries if the cache is full.
+     *
+     * @param key
+     *            the cache key
+     * @param artifacts
+     *            the generated artifacts
+     */
+    public synchronized void put(String key, List<BabelArtifact> artifacts) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        entries.put(key, new CacheEntry(List.copyOf(copy(artifacts)), clock.instant()));
+
+        Iterator<CacheEntry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            CacheEntry entry = iterator.next();
+            if (entries.size() > maxEntries || isExpired(entry)) {
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+        applicationLogger.debug("Cached generated artifacts for key " + key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private boolean isExpired(CacheEntry entry) {
+        return !entry.created.plus(timeToLive).isAfter(clock.instant());
+    }
+
+    private static List<BabelArtifact> copy(List<BabelArtifact> artifacts) {
+        return artifacts.stream()
+                .map(artifact -> new BabelArtifact(artifact.getName(), artifact.getType(), artifact.getPayload()))
+                .collect(Collectors.toList());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        // Prefix each value with its length so that adjacent values cannot run together
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        digest.update(String.valueOf(value == null ? -1 : bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright © 2017-2018 AT&T Intellectual Property. All rights reserved.
+ * Copyright © 2017-2018 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+package org.onap.aai.babel.service;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.onap.aai.babel.service.data.BabelRequest;
+import org.onap.aai.babel.service.data.GenerationJobStatus;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.parameters.RequestBody;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/** Generate artifacts asynchronously: submit a job, then poll for its status and fetch the result */
+@Path("/app/jobs")
+@Consumes(MediaType.APPLICATION_JSON)
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Babel Jobs", description = "APIs for generating artifacts asynchronously from TOSCA models in AAI Babel")
+public interface GenerationJobController {
+
+    @POST
+    @Operation(summary = "Submit an artifact generation job", description = "Takes a BabelRequest containing TOSCA service model artifacts and returns the ID of a job which generates AAI-compatible artifacts.", responses = {
+            @ApiResponse(responseCode = "202", description = "Job accepted", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = GenerationJobStatus.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request or malformed input"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized (authentication failure)"),
+            @ApiResponse(responseCode = "503", description = "The job queue is full")
+    })
+    Response submitJob(
+            @RequestBody(required = true, description = "The BabelRequest containing TOSCA service model artifacts.", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = BabelRequest.class))) BabelRequest babelRequest);
+
+    @GET
+    @Path("/{jobId}/status")
+    @Operation(summary = "Get the status of an artifact generation job", responses = {
+            @ApiResponse(responseCode = "200", description = "Job status", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = GenerationJobStatus.class))),
+            @ApiResponse(responseCode = "404", description = "No such job (or the result has expired)")
+    })
+    Response getJobStatus(@Parameter(required = true, description = "The job ID.") @PathParam("jobId") String jobId);
+
+    @GET
+    @Path("/{jobId}/result")
+    @Operation(summary = "Get the result of an artifact generation job", description = "Returns the response of the generation request once the job has finished.", responses = {
+            @ApiResponse(responseCode = "200", description = "Artifacts generated successfully", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = Response.class))),
+            @ApiResponse(responseCode = "202", description = "The job has not finished", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = GenerationJobStatus.class))),
+            @ApiResponse(responseCode = "404", description = "No such job (or the result has expired)"),
+            @ApiResponse(responseCode = "500", description = "Internal server error during artifact generation")
+    })
+    Response getJobResult(@Parameter(required = true, description = "The job ID.") @PathParam("jobId") String jobId);
+}
@@ -0,0 +1,109 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright © 2017-2018 AT&T Intellectual Property. All rights reserved.
+ * Copyright © 2017-2018 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.service;
+
+import com.google.gson.Gson;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.Status;
+
+import org.onap.aai.babel.logging.ApplicationMsgs;
+import org.onap.aai.babel.logging.LogHelper;
+import org.onap.aai.babel.logging.LogHelper.MdcParameter;
+import org.onap.aai.babel.service.GenerationJobService.GenerationJob;
+import org.onap.aai.babel.service.data.BabelRequest;
+import org.onap.aai.babel.service.data.GenerationJobStatus;
+import org.onap.aai.babel.util.RequestValidationException;
+import org.onap.aai.babel.util.RequestValidator;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Generate SDC Artifacts asynchronously. A job is submitted with the same request content as the synchronous API, and
+ * the generated artifacts are fetched once the job has finished.
+ */
+@Controller
+@RequiredArgsConstructor
+public class GenerationJobControllerImpl implements GenerationJobController {
+
+    private static final LogHelper applicationLogger = LogHelper.INSTANCE;
+    private final Gson gson;
+    private final GenerationJobService jobService;
+    private final GenerateArtifactsControllerImpl generateArtifactsController;
+
+    @Override
+    public Response submitJob(BabelRequest babelRequest) {
+        Response response;
+        try {
+            new RequestValidator().validateRequest(babelRequest);
+            GenerationJobStatus jobStatus =
+                    jobService.submit(() -> generateArtifactsController.generateArtifactsImpl(babelRequest));
+            response = buildResponse(Status.ACCEPTED, gson.toJson(jobStatus));
+        } catch (RequestValidationException e) {
+            response = processError(Status.BAD_REQUEST, e, e.getLocalizedMessage());
+        } catch (RejectedExecutionException e) {
+            response = processError(Status.SERVICE_UNAVAILABLE, e, "The artifact generation job queue is full.");
+        }
+        return GenerateArtifactsControllerImpl.logAudit(response);
+    }
+
+    @Override
+    public Response getJobStatus(String jobId) {
+        Optional<GenerationJob> job = jobService.getJob(jobId);
+        Response response;
+        if (job.isEmpty()) {
+            response = buildResponse(Status.NOT_FOUND, "No artifact generation job found with ID " + jobId);
+        } else {
+            response = buildResponse(Status.OK, gson.toJson(job.get().getStatus()));
+        }
+        return GenerateArtifactsControllerImpl.logAudit(response);
+    }
+
+    @Override
+    public Response getJobResult(String jobId) {
+        Optional<GenerationJob> job = jobService.getJob(jobId);
+        Response response;
+        if (job.isEmpty()) {
+            response = buildResponse(Status.NOT_FOUND, "No artifact generation job found with ID " + jobId);
+        } else if (!job.get().isFinished()) {
+            response = buildResponse(Status.ACCEPTED, gson.toJson(job.get().getStatus()));
+        } else {
+            response = job.get().getResult();
+        }
+        return GenerateArtifactsControllerImpl.logAudit(response);
+    }
+
+    private Response processError(Status responseStatus, Exception e, String message) {
+        applicationLogger.setContextValue(MdcParameter.RESPONSE_CODE, String.valueOf(responseStatus.getStatusCode()));
+        applicationLogger.setContextValue(MdcParameter.RESPONSE_DESCRIPTION, responseStatus.getReasonPhrase());
+        applicationLogger.error(ApplicationMsgs.PROCESS_REQUEST_ERROR, e);
+        return buildResponse(responseStatus, message);
+    }
+
+    private Response buildResponse(Status status, String entity) {
+        return Response.status(status).entity(entity).type(MediaType.APPLICATION_JSON).build();
+    }
+}
@@ -0,0 +1,213 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.onap.aai.babel.logging.ApplicationMsgs;
+import org.onap.aai.babel.logging.LogHelper;
+import org.onap.aai.babel.service.data.GenerationJobStatus;
+import org.onap.aai.babel.service.data.GenerationJobStatus.Status;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs artifact generation jobs on a bounded executor, so that the generation of large CSARs does not hold a servlet
+ * thread and an HTTP connection. Submitted jobs are rejected once the configured number of jobs are queued. The result
+ * of a finished job is retained for the configured time, after which the job is discarded. At most the configured
+ * number of finished jobs are retained; beyond this the oldest finished jobs are discarded first.
+ */
+@Component
+public class GenerationJobService {
+
+    private static final LogHelper applicationLogger = LogHelper.INSTANCE;
+
+    private final ExecutorService executor;
+    private final Duration retention;
+    private final int maxFinishedJobs;
+    private final Clock clock;
+    private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * An artifact generation job. The result is the (JSON) response of the generation request.
+     */
+    public static class GenerationJob {
+        private final String jobId;
+        private volatile Status status = Status.QUEUED;
+        private volatile int resultStatus;
+        private volatile Object resultEntity;
+        private volatile Instant finished;
+
+        GenerationJob(String jobId) {
+            this.jobId = jobId;
+        }
+
+        public GenerationJobStatus getStatus() {
+            return new GenerationJobStatus(jobId, status);
+        }
+
+        public boolean isFinished() {
+            return finished != null;
+        }
+
+        /**
+         * Create a response containing the result of the finished job.
+         *
+         * @return the response of the generation request
+         */
+        public Response getResult() {
+            return Response.status(resultStatus).entity(resultEntity).type(MediaType.APPLICATION_JSON).build();
+        }
+    }
+
+    /**
+     * Create the job service.
+     *
+     * @param threads
+     *            the number of jobs which may run concurrently
+     * @param queueDepth
+     *            the maximum number of jobs waiting to run
+     * @param retentionSeconds
+     *            the number of seconds for which the result of a finished job is retained
+     * @param maxFinishedJobs
+     *            the maximum number of finished jobs whose results are retained
+     */
+    @Autowired
+    public GenerationJobService(@Value("${babel.jobs.threads:2}") int threads,
+            @Value("${babel.jobs.queue-depth:20}") int queueDepth,
+            @Value("${babel.jobs.retention-seconds:600}") long retentionSeconds,
+            @Value("${babel.jobs.max-finished:50}") int maxFinishedJobs) {
+        this(new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueDepth), new CustomizableThreadFactory("babel-job-")),
+                Duration.ofSeconds(retentionSeconds), maxFinishedJobs, Clock.systemUTC());
+    }
+
+    GenerationJobService(ExecutorService executor, Duration retention, int maxFinishedJobs, Clock clock) {
+        this.executor = executor;
+        this.retention = retention;
+        this.maxFinishedJobs = maxFinishedJobs;
+        this.clock = clock;
+    }
+
+    /**
+     * Submit a generation job.
+     *
+     * @param generator
+     *            produces the response of the generation request
+     * @return the status of the new job
+     * @throws RejectedExecutionException
+     *             if the job queue is full
+     */
+    public GenerationJobStatus submit(Supplier<Response> generator) {
+        removeExpiredJobs();
+
+        GenerationJob job = new GenerationJob(UUID.randomUUID().toString());
+        Map<String, String> loggingContext = MDC.getCopyOfContextMap();
+        jobs.put(job.jobId, job);
+        try {
+            executor.execute(() -> run(job, generator, loggingContext));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.jobId);
+            throw e;
+        }
+        return job.getStatus();
+    }
+
+    /**
+     * Get the specified job, if it is queued, running, or finished within the retention time.
+     *
+     * @param jobId
+     *            the job ID returned on submission
+     * @return the job, or else empty if no such job is retained
+     */
+    public Optional<GenerationJob> getJob(String jobId) {
+        removeExpiredJobs();
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(GenerationJob job, Supplier<Response> generator, Map<String, String> loggingContext) {
+        if (loggingContext != null) {
+            MDC.setContextMap(loggingContext);
+        }
+        job.status = Status.RUNNING;
+
+        // Any Throwable not caught below (e.g. an Error) leaves these failure values in place, so that the job is
+        // always reported as finished
+        int resultStatus = Response.Status.INTERNAL_SERVER_ERROR.getStatusCode();
+        Object resultEntity = "Error generating artifacts.";
+        Status status = Status.FAILED;
+        try {
+            Response response = generator.get();
+            resultStatus = response.getStatus();
+            resultEntity = response.getEntity();
+            status = response.getStatus() / 100 == 2 ? Status.COMPLETED : Status.FAILED;
+        } catch (RuntimeException e) {
+            applicationLogger.error(ApplicationMsgs.PROCESS_REQUEST_ERROR, e);
+        } finally {
+            // The result must be complete before the job is reported as finished
+            job.resultStatus = resultStatus;
+            job.resultEntity = resultEntity;
+            job.finished = clock.instant();
+            job.status = status;
+            MDC.clear();
+            removeExcessJobs();
+        }
+    }
+
+    private void removeExpiredJobs() {
+        Instant expiry = clock.instant().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && !job.finished.isAfter(expiry));
+        removeExcessJobs();
+    }
+
+    private void removeExcessJobs() {
+        List<GenerationJob> finishedJobs = jobs.values().stream().filter(GenerationJob::isFinished)
+                .sorted(Comparator.comparing((GenerationJob job) -> job.finished)).toList();
+        for (int i = 0; i < finishedJobs.size() - maxFinishedJobs; i++) {
+            jobs.remove(finishedJobs.get(i).jobId);
+        }
+    }
+}
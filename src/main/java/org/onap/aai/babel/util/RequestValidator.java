@@ -48,4 +48,24 @@ public class RequestValidator {
             throw new RequestValidationException("No artifact name attribute found in the request body.");
         }
     }
+
+    /**
+     * Validates that the request parameters contain the required attributes (for requests where the CSAR content is
+     * supplied as the request body).
+     *
+     * @param artifactName
+     *            the artifact name parameter
+     * @param artifactVersion
+     *            the artifact version parameter
+     * @throws RequestValidationException
+     */
+    public void validateRequest(String artifactName, String artifactVersion) throws RequestValidationException {
+        if (artifactVersion == null) {
+            throw new RequestValidationException("No artifact version parameter found in the request.");
+        }
+
+        if (artifactName == null) {
+            throw new RequestValidationException("No artifact name parameter found in the request.");
+        }
+    }
 }
@@ -22,6 +22,7 @@
 package org.onap.aai.babel.xml.generator;
 
 import java.util.List;
+import org.onap.aai.babel.csar.CsarContext;
 import org.onap.aai.babel.service.data.BabelArtifact;
 import org.onap.aai.babel.xml.generator.data.Artifact;
 
@@ -31,13 +32,13 @@ public interface ArtifactGenerator {
     /**
      * Generate a {@link List} of {@link BabelArtifact}s from the Artifacts obtained from the CSAR
      *
-     * @param csarArchive
-     *            original CSAR file (zip format)
+     * @param csar
+     *            the original CSAR file (zip format) and its parsed content
      * @param csarArtifacts
      *            YAML artifacts extracted from the CSAR file
      * @return generated {@link BabelArtifact}s
      * @throws XmlArtifactGenerationException
      */
-    List<BabelArtifact> generateArtifacts(byte[] csarArchive, List<Artifact> csarArtifacts)
+    List<BabelArtifact> generateArtifacts(CsarContext csar, List<Artifact> csarArtifacts)
             throws XmlArtifactGenerationException;
 }
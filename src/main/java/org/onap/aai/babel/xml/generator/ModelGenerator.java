@@ -21,11 +21,12 @@
 
 package org.onap.aai.babel.xml.generator;
 
-import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import org.onap.aai.babel.csar.CsarContext;
 import org.onap.aai.babel.logging.ApplicationMsgs;
 import org.onap.aai.babel.logging.LogHelper;
 import org.onap.aai.babel.service.data.BabelArtifact;
@@ -50,7 +51,8 @@ public class ModelGenerator implements ArtifactGenerator {
     /**
      * Invokes the TOSCA artifact generator API with the input artifacts.
      *
-     * @param csarArchive
+     * @param csar
+     *            the CSAR context for the request
      * @param csarArtifacts
      *            the input artifacts
      * @return {@link List} of output artifacts
@@ -58,7 +60,7 @@ public class ModelGenerator implements ArtifactGenerator {
      *             if there is an error trying to generate XML artifacts
      */
     @Override
-    public List<BabelArtifact> generateArtifacts(byte[] csarArchive, List<Artifact> csarArtifacts)
+    public List<BabelArtifact> generateArtifacts(CsarContext csar, List<Artifact> csarArtifacts)
             throws XmlArtifactGenerationException {
         logger.info(ApplicationMsgs.DISTRIBUTION_EVENT,
                 "Generating XML for " + csarArtifacts.size() + " CSAR artifacts.");
@@ -74,13 +76,14 @@ public class ModelGenerator implements ArtifactGenerator {
         logger.debug("Obtaining instance of ArtifactGenerationService");
         org.onap.aai.babel.xml.generator.api.ArtifactGenerator generator = new AaiArtifactGenerator();
         logger.debug("About to call generationService.generateArtifact()");
-        GenerationData data = generator.generateArtifact(csarArchive, csarArtifacts, additionalParams);
+        GenerationData data = generator.generateArtifact(csar, csarArtifacts, additionalParams);
         logger.debug("Call generationService.generateArtifact() has finished");
 
         // Convert results into BabelArtifacts
         if (data.getErrorData().isEmpty()) {
-            return data.getResultData().stream().map(a -> new BabelArtifact(a.getName(), ArtifactType.MODEL,
-                    new String(Base64.getDecoder().decode(a.getPayload())))).collect(Collectors.toList());
+            return data.getResultData().stream()
+                    .map(a -> new BabelArtifact(a.getName(), ArtifactType.MODEL, a.getContent()))
+                    .collect(Collectors.toList());
         } else {
             throw new XmlArtifactGenerationException(
                     "Error occurred during artifact generation: " + data.getErrorData().toString());
@@ -112,6 +115,30 @@ public class ModelGenerator implements ArtifactGenerator {
         return artifact;
     }
 
+    /**
+     * Creates an instance of an input artifact for the generator, without reading the payload. The payload is read
+     * from the source (and its checksum and encoding calculated) only if the generator requires it.
+     *
+     * @param payloadSource
+     *            the supplier of the payload
+     * @param artifactName
+     *            name of the artifact to create
+     * @param artifactVersion
+     *            version of the artifact to create
+     * @return an {@link Artifact} object constructed from the payload source and artifactInfo
+     */
+    public static Artifact createArtifact(Supplier<byte[]> payloadSource, String artifactName,
+            String artifactVersion) {
+        logger.info(ApplicationMsgs.DISTRIBUTION_EVENT, "Creating artifact for: " + artifactName);
+
+        Artifact artifact = new Artifact("TOSCA", GroupType.DEPLOYMENT.name(), payloadSource);
+        artifact.setName(artifactName);
+        artifact.setLabel(artifactName);
+        artifact.setDescription(artifactName);
+        artifact.setVersion(artifactVersion);
+        return artifact;
+    }
+
     private static String getServiceVersion(String artifactVersion) {
         logger.debug("Artifact version=" + artifactVersion);
         try {
@@ -22,8 +22,6 @@
 package org.onap.aai.babel.xml.generator.api;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -31,20 +29,20 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.StringUtils;
+import org.onap.aai.babel.csar.CsarContext;
 import org.onap.aai.babel.logging.ApplicationMsgs;
 import org.onap.aai.babel.logging.LogHelper;
 import org.onap.aai.babel.parser.ArtifactGeneratorToscaParser;
+import org.onap.aai.babel.parser.ToscaMappingsLoader;
 import org.onap.aai.babel.parser.ToscaParser;
 import org.onap.aai.babel.xml.generator.XmlArtifactGenerationException;
 import org.onap.aai.babel.xml.generator.data.AdditionalParams;
 import org.onap.aai.babel.xml.generator.data.Artifact;
 import org.onap.aai.babel.xml.generator.data.ArtifactType;
 import org.onap.aai.babel.xml.generator.data.GenerationData;
-import org.onap.aai.babel.xml.generator.data.GeneratorUtil;
 import org.onap.aai.babel.xml.generator.data.GroupType;
 import org.onap.aai.babel.xml.generator.data.WidgetConfigurationUtil;
+import org.onap.aai.babel.xml.generator.data.WidgetConfigurationUtil.RegistryScope;
 import org.onap.aai.babel.xml.generator.model.Model;
 import org.onap.aai.babel.xml.generator.model.Resource;
 import org.onap.aai.babel.xml.generator.model.Service;
@@ -58,7 +56,6 @@ import org.onap.sdc.tosca.parser.elements.queries.EntityQuery;
 import org.onap.sdc.tosca.parser.elements.queries.TopologyTemplateQuery;
 import org.onap.sdc.tosca.parser.enums.SdcTypes;
 import org.onap.sdc.tosca.parser.exceptions.SdcToscaParserException;
-import org.onap.sdc.tosca.parser.impl.SdcToscaParserFactory;
 import org.onap.sdc.toscaparser.api.Group;
 import org.onap.sdc.toscaparser.api.NodeTemplate;
 import org.onap.sdc.toscaparser.api.Property;
@@ -83,7 +80,7 @@ public class AaiArtifactGenerator implements ArtifactGenerator {
     private AaiModelGenerator modelGenerator = new AaiModelGenerator();
 
     @Override
-    public GenerationData generateArtifact(byte[] csarArchive, List<Artifact> input,
+    public GenerationData generateArtifact(CsarContext csar, List<Artifact> input,
             Map<String, String> additionalParams) {
         String configLocation = System.getProperty(ArtifactGeneratorToscaParser.PROPERTY_TOSCA_MAPPING_FILE);
         if (configLocation == null) {
@@ -93,30 +90,29 @@ public class AaiArtifactGenerator implements ArtifactGenerator {
         }
 
         try {
-            ArtifactGeneratorToscaParser.initToscaMappingsConfiguration(configLocation);
+            ToscaMappingsLoader.ensureLoaded(configLocation);
         } catch (IOException e) {
             log.error(ApplicationMsgs.LOAD_PROPERTIES, e, configLocation);
             return createErrorData(e);
         }
 
-        Path csarPath;
+        ISdcCsarHelper csarHelper;
 
         try {
-            csarPath = createTempFile(csarArchive);
+            csarHelper = csar.getCsarHelper();
         } catch (IOException e) {
             log.error(ApplicationMsgs.TEMP_FILE_ERROR, e);
             return createErrorData(e);
+        } catch (SdcToscaParserException | ClassCastException e) {
+            log.error(ApplicationMsgs.INVALID_CSAR_FILE, e);
+            return createErrorData(e);
         }
 
         try {
-            ISdcCsarHelper csarHelper =
-                    SdcToscaParserFactory.getInstance().getSdcCsarHelper(csarPath.toAbsolutePath().toString());
             return generateAllArtifacts(validateServiceVersion(additionalParams), csarHelper);
-        } catch (SdcToscaParserException | ClassCastException | XmlArtifactGenerationException e) {
+        } catch (ClassCastException | XmlArtifactGenerationException e) {
             log.error(ApplicationMsgs.INVALID_CSAR_FILE, e);
             return createErrorData(e);
-        } finally {
-            FileUtils.deleteQuietly(csarPath.toFile());
         }
     }
 
@@ -138,33 +134,36 @@ public class AaiArtifactGenerator implements ArtifactGenerator {
      */
     public GenerationData generateAllArtifacts(final String serviceVersion, ISdcCsarHelper csarHelper)
             throws XmlArtifactGenerationException {
-        Service serviceModel = createServiceModel(serviceVersion, csarHelper.getServiceMetadataAllProperties());
-
-        MDC.put(MDC_PARAM_MODEL_INFO, serviceModel.getModelName() + "," + getArtifactLabel(serviceModel));
-
-        List<Resource> resources = generateResourceModels(csarHelper, serviceModel);
-
-        // Generate the A&AI XML model for the Service.
-        final String serviceArtifact = modelGenerator.generateModelFor(serviceModel);
-
-        // Build a Babel Artifact to be returned to the caller.
-        GenerationData generationData = new GenerationData();
-        generationData.add(getServiceArtifact(serviceModel, serviceArtifact));
-
-        // For each Resource, generate the A&AI XML model and then create an additional Artifact for that model.
-        for (Resource resource : resources) {
-            generateResourceArtifact(generationData, resource);
-            for (Resource childResource : resource.getResources()) {
-                boolean isProvidingService =
-                        (boolean) Optional.ofNullable(childResource.getProperties().get("providingService")) //
-                                .orElse(false);
-                if (!isProvidingService) {
-                    generateResourceArtifact(generationData, childResource);
+        // Use a single version of the widget configuration for the whole generation, even if it is reloaded meanwhile
+        try (RegistryScope scope = WidgetConfigurationUtil.captureRegistry()) {
+            Service serviceModel = createServiceModel(serviceVersion, csarHelper.getServiceMetadataAllProperties());
+
+            MDC.put(MDC_PARAM_MODEL_INFO, serviceModel.getModelName() + "," + getArtifactLabel(serviceModel));
+
+            List<Resource> resources = generateResourceModels(csarHelper, serviceModel);
+
+            // Generate the A&AI XML model for the Service.
+            final String serviceArtifact = modelGenerator.generateModelFor(serviceModel);
+
+            // Build a Babel Artifact to be returned to the caller.
+            GenerationData generationData = new GenerationData();
+            generationData.add(getServiceArtifact(serviceModel, serviceArtifact));
+
+            // For each Resource, generate the A&AI XML model and then create an additional Artifact for that model.
+            for (Resource resource : resources) {
+                generateResourceArtifact(generationData, resource);
+                for (Resource childResource : resource.getResources()) {
+                    boolean isProvidingService =
+                            (boolean) Optional.ofNullable(childResource.getProperties().get("providingService")) //
+                                    .orElse(false);
+                    if (!isProvidingService) {
+                        generateResourceArtifact(generationData, childResource);
+                    }
                 }
             }
-        }
 
-        return generationData;
+            return generationData;
+        }
     }
 
     /**
@@ -199,7 +198,8 @@ public class AaiArtifactGenerator implements ArtifactGenerator {
 
         final ArtifactGeneratorToscaParser parser = new ArtifactGeneratorToscaParser(csarHelper);
         List<Resource> resources = new ArrayList<>();
-        final List<Group> serviceGroups = ToscaParser.getServiceLevelGroups(csarHelper);
+        final Map<String, List<Group>> serviceGroups =
+                indexGroupsByMember(ToscaParser.getServiceLevelGroups(csarHelper));
         for (NodeTemplate nodeTemplate : serviceNodeTemplates) {
             if (nodeTemplate.getMetaData() != null) {
                 generateModelFromNodeTemplate(csarHelper, serviceModel, resources, serviceGroups, parser, nodeTemplate);
@@ -211,18 +211,42 @@ public class AaiArtifactGenerator implements ArtifactGenerator {
         return resources;
     }
 
+    /**
+     * Index the service level groups by the names of their members.
+     *
+     * @param serviceGroups
+     *            the service level groups
+     * @return the groups (in their original order) of which each Node Template name is a member
+     */
+    private Map<String, List<Group>> indexGroupsByMember(List<Group> serviceGroups) {
+        Map<String, List<Group>> groupsByMember = new HashMap<>();
+        for (Group group : serviceGroups) {
+            List<String> members = group.getMembers();
+            if (members != null) {
+                for (String member : members) {
+                    List<Group> groups = groupsByMember.computeIfAbsent(member, k -> new ArrayList<>());
+                    if (groups.isEmpty() || groups.get(groups.size() - 1) != group) {
+                        groups.add(group);
+                    }
+                }
+            }
+        }
+        return groupsByMember;
+    }
+
     /**
      * @param csarHelper
      * @param serviceModel
      * @param resources
      * @param serviceGroups
+     *            the service level groups, indexed by member name
      * @param parser
      * @param nodeTemplate
      * @throws XmlArtifactGenerationException
      *             if the configured widget mappings do not support processed widget type(s)
      */
     private void generateModelFromNodeTemplate(ISdcCsarHelper csarHelper, Service serviceModel,
-            List<Resource> resources, final List<Group> serviceGroups, ArtifactGeneratorToscaParser parser,
+            List<Resource> resources, final Map<String, List<Group>> serviceGroups, ArtifactGeneratorToscaParser parser,
             NodeTemplate nodeTemplate) throws XmlArtifactGenerationException {
         Resource model = getModelFor(parser, nodeTemplate);
 
@@ -236,12 +260,10 @@ public class AaiArtifactGenerator implements ArtifactGenerator {
                 generateResourceModel(csarHelper, resources, parser, nodeTemplate);
             }
         } else {
-            for (Group group : serviceGroups) {
-                ArrayList<String> members = group.getMembers();
-                if (members != null && members.contains(nodeTemplate.getName())
-                        && WidgetConfigurationUtil.isSupportedInstanceGroup(group.getType())) {
+            for (Group group : serviceGroups.getOrDefault(nodeTemplate.getName(), Collections.emptyList())) {
+                if (WidgetConfigurationUtil.isSupportedInstanceGroup(group.getType())) {
                     log.debug("Adding group %s (type %s) with members %s".formatted(group.getName(),
-                            group.getType(), members));
+                            group.getType(), group.getMembers()));
 
                     Resource groupModel = parser.createInstanceGroupModel(
                             parser.mergeProperties(group.getMetadata().getAllProperties(), group.getProperties()));
@@ -355,19 +377,14 @@ public class AaiArtifactGenerator implements ArtifactGenerator {
      */
     private void generateResourceArtifact(GenerationData generationData, Resource resource)
             throws XmlArtifactGenerationException {
-        if (!isContained(generationData, getArtifactName(resource))) {
+        // Check for a duplicate before generating (marshalling) the model
+        final String artifactName = getArtifactName(resource);
+        if (!generationData.containsArtifact(artifactName)) {
             log.info(ApplicationMsgs.DISTRIBUTION_EVENT, "Generating resource model");
-            generationData.add(getResourceArtifact(resource, modelGenerator.generateModelFor(resource)));
+            generationData.add(getResourceArtifact(resource, artifactName, modelGenerator.generateModelFor(resource)));
         }
     }
 
-    private Path createTempFile(byte[] bytes) throws IOException {
-        log.debug("Creating temp file on file system for the csar");
-        Path path = Files.createTempFile("temp", ".csar");
-        Files.write(path, bytes);
-        return path;
-    }
-
     /**
      * Create the artifact label for an AAI model.
      *
@@ -412,33 +429,24 @@ public class AaiArtifactGenerator implements ArtifactGenerator {
      *
      * @param resourceModel
      *            Model of the resource artifact
+     * @param artifactName
+     *            the name of the resource artifact
      * @param aaiResourceModel
      *            AAI model as string
      * @return Generated {@link Artifact} model for the resource
      */
-    private Artifact getResourceArtifact(Resource resourceModel, String aaiResourceModel) {
+    private Artifact getResourceArtifact(Resource resourceModel, String artifactName, String aaiResourceModel) {
         final String resourceArtifactLabel = getArtifactLabel(resourceModel);
         MDC.put(MDC_PARAM_MODEL_INFO, resourceModel.getModelName() + "," + resourceArtifactLabel);
-        final byte[] bytes = aaiResourceModel.getBytes();
 
         Artifact artifact = new Artifact(ArtifactType.MODEL_INVENTORY_PROFILE.name(), GroupType.DEPLOYMENT.name(),
-                GeneratorUtil.checkSum(bytes), GeneratorUtil.encode(bytes));
-        artifact.setName(getArtifactName(resourceModel));
+                aaiResourceModel);
+        artifact.setName(artifactName);
         artifact.setLabel(resourceArtifactLabel);
         artifact.setDescription("AAI Resource Model");
         return artifact;
     }
 
-    /**
-     * @param generationData
-     * @param artifactName
-     * @return
-     */
-    private boolean isContained(GenerationData generationData, final String artifactName) {
-        return generationData.getResultData().stream()
-                .anyMatch(artifact -> StringUtils.equals(artifact.getName(), artifactName));
-    }
-
     /**
      * Create Service artifact model from the AAI XML model.
      *
@@ -450,7 +458,7 @@ public class AaiArtifactGenerator implements ArtifactGenerator {
      */
     private Artifact getServiceArtifact(Service serviceModel, String aaiServiceModel) {
         Artifact artifact = new Artifact(ArtifactType.MODEL_INVENTORY_PROFILE.name(), GroupType.DEPLOYMENT.name(),
-                GeneratorUtil.checkSum(aaiServiceModel.getBytes()), GeneratorUtil.encode(aaiServiceModel.getBytes()));
+                aaiServiceModel);
         String serviceArtifactName = getArtifactName(serviceModel);
         String serviceArtifactLabel = getArtifactLabel(serviceModel);
         artifact.setName(serviceArtifactName);
@@ -52,6 +52,20 @@ public class AaiModelGenerator {
 
     private static Logger log = LogHelper.INSTANCE;
 
+    /**
+     * System property selecting the output engine: {@value #MODEL_WRITER_JAXB} (the default) marshals a JAXB object
+     * graph, whereas {@value #MODEL_WRITER_STAX} writes the same XML directly using {@link AaiModelStreamWriter}.
+     */
+    public static final String PROPERTY_MODEL_WRITER = "model.xml.writer";
+    public static final String MODEL_WRITER_JAXB = "jaxb";
+    public static final String MODEL_WRITER_STAX = "stax";
+
+    /** The JAXB context is thread-safe and expensive to create, so it is created once and shared. */
+    private static JAXBContext jaxbContext;
+
+    /** Marshallers are not thread-safe, so each thread reuses its own configured Marshaller. */
+    private static final ThreadLocal<Marshaller> threadMarshaller = new ThreadLocal<>();
+
     /**
      * Method to generate the AAI model for a Service or Resource.
      *
@@ -61,6 +75,10 @@ public class AaiModelGenerator {
      * @throws XmlArtifactGenerationException
      */
     public String generateModelFor(Model model) throws XmlArtifactGenerationException {
+        if (MODEL_WRITER_STAX.equalsIgnoreCase(System.getProperty(PROPERTY_MODEL_WRITER, MODEL_WRITER_JAXB))) {
+            return AaiModelStreamWriter.writeModel(model);
+        }
+
         org.onap.aai.babel.xml.generator.xsd.Model aaiModel = createJaxbModel(model);
         ModelElement baseWidget = addBaseWidgetRelation(model, aaiModel);
         generateWidgetChildren(baseWidget, model.getWidgets());
@@ -254,20 +272,42 @@ public class AaiModelGenerator {
      * @return XML representation of the Java model in String format
      */
     private String getModelAsString(org.onap.aai.babel.xml.generator.xsd.Model model) {
-        JAXBContext jaxbContext;
         StringWriter modelStringWriter = new StringWriter();
         try {
-            jaxbContext = JAXBContext.newInstance(org.onap.aai.babel.xml.generator.xsd.Model.class);
-            Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
-            jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-            jaxbMarshaller.setProperty(Marshaller.JAXB_ENCODING, "US-ASCII");
-            jaxbMarshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
-            jaxbMarshaller.marshal(model, modelStringWriter);
+            getMarshaller().marshal(model, modelStringWriter);
         } catch (JAXBException jaxbException) {
+            // Do not reuse a Marshaller which may have been left in an inconsistent state
+            threadMarshaller.remove();
             log.error(ApplicationMsgs.INVALID_CSAR_FILE, jaxbException);
             throw new DOMException(DOMException.SYNTAX_ERR, jaxbException.getMessage());
         }
 
         return modelStringWriter.toString();
     }
+
+    /**
+     * Get the Marshaller for the current thread, creating and configuring a new Marshaller on first use.
+     *
+     * @return a Marshaller for the A&AI Model
+     * @throws JAXBException
+     *             if the JAXB context or the Marshaller cannot be created
+     */
+    static Marshaller getMarshaller() throws JAXBException {
+        Marshaller jaxbMarshaller = threadMarshaller.get();
+        if (jaxbMarshaller == null) {
+            jaxbMarshaller = getJaxbContext().createMarshaller();
+            jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+            jaxbMarshaller.setProperty(Marshaller.JAXB_ENCODING, "US-ASCII");
+            jaxbMarshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+            threadMarshaller.set(jaxbMarshaller);
+        }
+        return jaxbMarshaller;
+    }
+
+    private static synchronized JAXBContext getJaxbContext() throws JAXBException {
+        if (jaxbContext == null) {
+            jaxbContext = JAXBContext.newInstance(org.onap.aai.babel.xml.generator.xsd.Model.class);
+        }
+        return jaxbContext;
+    }
 }
@@ -0,0 +1,287 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * Copyright (C) 2019-2020 Wipro Limited.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.xml.generator.api;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import jakarta.xml.bind.annotation.XmlSchema;
+import jakarta.xml.bind.annotation.XmlType;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.onap.aai.babel.logging.ApplicationMsgs;
+import org.onap.aai.babel.logging.LogHelper;
+import org.onap.aai.babel.xml.generator.XmlArtifactGenerationException;
+import org.onap.aai.babel.xml.generator.model.Model;
+import org.onap.aai.babel.xml.generator.model.Resource;
+import org.onap.aai.babel.xml.generator.model.Widget;
+import org.onap.aai.babel.xml.generator.xsd.ModelVer;
+import org.onap.aai.cl.api.Logger;
+import org.w3c.dom.DOMException;
+
+/**
+ * Writes the A&AI XML model for a Service or Resource directly to an {@link XMLStreamWriter}, without building the
+ * intermediate JAXB object graph. The output is identical to that of the JAXB Marshaller used by
+ * {@link AaiModelGenerator}: the same elements in the same (schema) order, formatted with an indent of four spaces,
+ * and with any non-ASCII characters written as (decimal) character references to their code points.
+ */
+public class AaiModelStreamWriter {
+
+    private static Logger log = LogHelper.INSTANCE;
+
+    private static final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newFactory();
+
+    private static final String NAMESPACE = org.onap.aai.babel.xml.generator.xsd.Model.class.getPackage()
+            .getAnnotation(XmlSchema.class).namespace();
+
+    /** The schema order of the model properties. */
+    private static final List<String> MODEL_PROPERTIES =
+            getPropertyOrder(org.onap.aai.babel.xml.generator.xsd.Model.class);
+
+    /** The schema order of the model-ver properties. */
+    private static final List<String> MODEL_VER_PROPERTIES = getPropertyOrder(ModelVer.class);
+
+    private static final String INDENT = "    ";
+
+    private final XMLStreamWriter writer;
+    private int depth;
+
+    private AaiModelStreamWriter(XMLStreamWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Write the A&AI model for a Service or Resource.
+     *
+     * @param model
+     *            Java object model representing an AAI Service or Resource model
+     * @return XML representation of the model in String format
+     * @throws XmlArtifactGenerationException
+     *             if the base widget of the model cannot be determined
+     */
+    public static String writeModel(Model model) throws XmlArtifactGenerationException {
+        log.debug(model.toString());
+
+        StringWriter modelStringWriter = new StringWriter();
+        try {
+            XMLStreamWriter xmlStreamWriter = xmlOutputFactory.createXMLStreamWriter(modelStringWriter);
+            new AaiModelStreamWriter(xmlStreamWriter).writeRootElement(model);
+            xmlStreamWriter.close();
+        } catch (XMLStreamException e) {
+            log.error(ApplicationMsgs.INVALID_CSAR_FILE, e);
+            throw new DOMException(DOMException.SYNTAX_ERR, e.getMessage());
+        }
+        return modelStringWriter.toString();
+    }
+
+    private void writeRootElement(Model model) throws XMLStreamException, XmlArtifactGenerationException {
+        writer.writeStartElement("model");
+        writer.writeDefaultNamespace(NAMESPACE);
+        depth++;
+        for (String property : MODEL_PROPERTIES) {
+            switch (property) {
+                case "modelInvariantId":
+                    writeElement("model-invariant-id", model.getModelId());
+                    break;
+                case "modelType":
+                    writeElement("model-type", model.getModelTypeName());
+                    break;
+                case "modelRole":
+                    if ("service".equals(model.getModelTypeName())) {
+                        writeElement("model-role", model.getCategory());
+                    }
+                    break;
+                case "modelVers":
+                    startElement("model-vers");
+                    writeModelVersion(model);
+                    endElement();
+                    break;
+                default:
+                    break;
+            }
+        }
+        depth--;
+        newLine();
+        writer.writeEndElement();
+    }
+
+    private void writeModelVersion(Model model) throws XMLStreamException, XmlArtifactGenerationException {
+        startElement("model-ver");
+        for (String property : MODEL_VER_PROPERTIES) {
+            switch (property) {
+                case "modelVersionId":
+                    writeElement("model-version-id", model.getModelNameVersionId());
+                    break;
+                case "modelName":
+                    writeElement("model-name", model.getModelName());
+                    break;
+                case "modelVersion":
+                    writeElement("model-version", model.getModelVersion());
+                    break;
+                case "modelDescription":
+                    writeElement("model-description", model.getModelDescription());
+                    break;
+                case "sdncModelName":
+                    writeElement("sdnc-model-name", model.getSdncModelName());
+                    break;
+                case "sdncModelVersion":
+                    writeElement("sdnc-model-version", model.getSdncModelVersion());
+                    break;
+                case "modelElements":
+                    startElement("model-elements");
+                    writeBaseWidgetElement(model);
+                    endElement();
+                    break;
+                default:
+                    break;
+            }
+        }
+        endElement();
+    }
+
+    /**
+     * Write the model element for the base widget of the Service or Resource, containing the relationships to the
+     * child resources followed by the (recursive) child widgets.
+     */
+    private void writeBaseWidgetElement(Model model) throws XMLStreamException, XmlArtifactGenerationException {
+        startElement("model-element");
+        writeElement("new-data-del-flag", model.getDeleteFlag() ? "T" : "F");
+        writeElement("cardinality", "unbounded");
+        if (model.getResources().isEmpty() && model.getWidgets().isEmpty()) {
+            emptyElement("model-elements");
+        } else {
+            startElement("model-elements");
+            for (Resource resource : model.getResources()) {
+                writeRelationshipElement(resource.getDeleteFlag(), resource.getModelNameVersionId(),
+                        resource.getModelId(), List.of());
+            }
+            writeWidgetElements(model.getWidgets());
+            endElement();
+        }
+        writeRelationshipList(model.getWidgetId(), model.getWidgetInvariantId());
+        endElement();
+    }
+
+    private void writeWidgetElements(Collection<Widget> widgets) throws XMLStreamException {
+        for (Widget widget : widgets) {
+            writeRelationshipElement(widget.getDeleteFlag(), widget.getId(), widget.getWidgetId(),
+                    widget.getWidgets());
+        }
+    }
+
+    private void writeRelationshipElement(boolean newDataDelFlag, String modelVersionId, String modelInvariantId,
+            Collection<Widget> childWidgets) throws XMLStreamException {
+        startElement("model-element");
+        writeElement("new-data-del-flag", newDataDelFlag ? "T" : "F");
+        writeElement("cardinality", "unbounded");
+        if (childWidgets.isEmpty()) {
+            emptyElement("model-elements");
+        } else {
+            startElement("model-elements");
+            writeWidgetElements(childWidgets);
+            endElement();
+        }
+        writeRelationshipList(modelVersionId, modelInvariantId);
+        endElement();
+    }
+
+    private void writeRelationshipList(String modelVersionId, String modelInvariantId) throws XMLStreamException {
+        startElement("relationship-list");
+        startElement("relationship");
+        writeElement("related-to", "model-ver");
+        writeRelationshipData("model-ver.model-version-id", modelVersionId);
+        writeRelationshipData("model.model-invariant-id", modelInvariantId);
+        endElement();
+        endElement();
+    }
+
+    private void writeRelationshipData(String key, String value) throws XMLStreamException {
+        startElement("relationship-data");
+        writeElement("relationship-key", key);
+        writeElement("relationship-value", value);
+        endElement();
+    }
+
+    private void startElement(String name) throws XMLStreamException {
+        newLine();
+        writer.writeStartElement(name);
+        depth++;
+    }
+
+    private void endElement() throws XMLStreamException {
+        depth--;
+        newLine();
+        writer.writeEndElement();
+    }
+
+    private void emptyElement(String name) throws XMLStreamException {
+        newLine();
+        writer.writeEmptyElement(name);
+    }
+
+    /**
+     * Write a simple element with text content. As with the JAXB Marshaller, no element is written for a null value.
+     */
+    private void writeElement(String name, String value) throws XMLStreamException {
+        if (value != null) {
+            newLine();
+            writer.writeStartElement(name);
+            writeText(value);
+            writer.writeEndElement();
+        }
+    }
+
+    /**
+     * Write text content, escaping any character which cannot be encoded in US-ASCII as a decimal character reference
+     * (in the same way as the JAXB Marshaller). A character outside the Basic Multilingual Plane is escaped as a single
+     * reference to its code point, never as a reference to each half of its surrogate pair (which is not valid XML).
+     */
+    private void writeText(String text) throws XMLStreamException {
+        int start = 0;
+        int i = 0;
+        while (i < text.length()) {
+            int codePoint = text.codePointAt(i);
+            int next = i + Character.charCount(codePoint);
+            if (codePoint > 0x7F) {
+                writer.writeCharacters(text.substring(start, i));
+                writer.writeEntityRef("#" + codePoint);
+                start = next;
+            }
+            i = next;
+        }
+        writer.writeCharacters(start == 0 ? text : text.substring(start));
+    }
+
+    private void newLine() throws XMLStreamException {
+        writer.writeCharacters("\n");
+        for (int i = 0; i < depth; i++) {
+            writer.writeCharacters(INDENT);
+        }
+    }
+
+    private static List<String> getPropertyOrder(Class<?> jaxbClass) {
+        return Arrays.asList(jaxbClass.getAnnotation(XmlType.class).propOrder());
+    }
+}
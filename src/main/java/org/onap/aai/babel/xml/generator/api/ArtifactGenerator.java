@@ -23,6 +23,7 @@ package org.onap.aai.babel.xml.generator.api;
 
 import java.util.List;
 import java.util.Map;
+import org.onap.aai.babel.csar.CsarContext;
 import org.onap.aai.babel.xml.generator.data.Artifact;
 import org.onap.aai.babel.xml.generator.data.GenerationData;
 
@@ -36,13 +37,13 @@ public interface ArtifactGenerator {
     /**
      * Implementation of the method to generate AAI artifacts.
      *
-     * @param csarArchive
-     *            original CSAR (zip format)
+     * @param csar
+     *            the original CSAR (zip format) and its parsed content
      * @param input
      *            List of input tosca files
      * @param additionalParams
      * @return Translated/Error data as a {@link GenerationData} object
      */
-    public GenerationData generateArtifact(byte[] csarArchive, List<Artifact> input,
+    public GenerationData generateArtifact(CsarContext csar, List<Artifact> input,
             Map<String, String> additionalParams);
 }
@@ -21,6 +21,15 @@
 
 package org.onap.aai.babel.xml.generator.data;
 
+import java.util.Base64;
+import java.util.function.Supplier;
+
+/**
+ * An artifact, either supplied to the generator (with a Base64 encoded payload) or generated as text content. The
+ * text of a generated artifact is held as a single String; the Base64 encoded payload and checksum are derived from it
+ * only if requested. Similarly the content of an input artifact may be supplied on demand, in which case it is not read,
+ * encoded or hashed unless requested.
+ */
 public class Artifact {
 
     String name;
@@ -31,6 +40,8 @@ public class Artifact {
     String version;
     String checksum;
     byte[] payload;
+    String content;
+    Supplier<byte[]> source;
 
     /**
      * Instantiates a new Artifact.
@@ -47,10 +58,76 @@ public class Artifact {
         this.payload = payload;
     }
 
+    /**
+     * Instantiates a new Artifact holding generated text content.
+     *
+     * @param type the type
+     * @param groupType the group type
+     * @param content the (unencoded) content
+     */
+    public Artifact(String type, String groupType, String content) {
+        this.type = type;
+        this.groupType = groupType;
+        this.content = content;
+    }
+
+    /**
+     * Instantiates a new Artifact whose (unencoded) content is read from the source only when it is first required.
+     *
+     * @param type the type
+     * @param groupType the group type
+     * @param source the supplier of the (unencoded) content
+     */
+    public Artifact(String type, String groupType, Supplier<byte[]> source) {
+        this.type = type;
+        this.groupType = groupType;
+        this.source = source;
+    }
+
+    /**
+     * Get the Base64 encoded payload, encoding the text content of a generated artifact (or the source content).
+     *
+     * @return the Base64 encoded payload
+     */
     public byte[] getPayload() {
+        if (content != null) {
+            return GeneratorUtil.encode(content.getBytes());
+        }
+        if (payload == null && source != null) {
+            payload = GeneratorUtil.encode(source.get());
+        }
         return payload;
     }
 
+    /**
+     * Get the text content, decoding the payload of an artifact which was not generated as text.
+     *
+     * @return the (unencoded) content
+     */
+    public String getContent() {
+        if (content != null) {
+            return content;
+        } else if (source != null) {
+            return new String(source.get());
+        }
+        return payload == null ? null : new String(Base64.getDecoder().decode(payload));
+    }
+
+    /**
+     * Get the checksum, calculating the checksum of the text content of a generated artifact (or the source content).
+     *
+     * @return the checksum
+     */
+    public String getChecksum() {
+        if (content != null) {
+            return GeneratorUtil.checkSum(content.getBytes());
+        }
+        if (checksum == null && source != null) {
+            checksum = GeneratorUtil.checkSum(source.get());
+        }
+        return checksum;
+    }
+
     public String getName() {
         return name;
     }
@@ -23,16 +23,41 @@ package org.onap.aai.babel.xml.generator.data;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class GenerationData {
 
     List<Artifact> resultData = new ArrayList<>();
     Map<String, List<String>> errorData = new HashMap<>();
 
+    /**
+     * The names of the artifacts in the result data.
+     */
+    private Set<String> artifactNames = new HashSet<>();
+
+    /**
+     * Add a generated artifact to the result data. The artifact's name must be set before it is added.
+     *
+     * @param generatedArtifact
+     *            the generated artifact
+     */
     public void add(Artifact generatedArtifact) {
         resultData.add(generatedArtifact);
+        artifactNames.add(generatedArtifact.getName());
+    }
+
+    /**
+     * Determine whether an artifact with the given name has been added to the result data.
+     *
+     * @param artifactName
+     *            the artifact name
+     * @return true if the result data contains an artifact with this name
+     */
+    public boolean containsArtifact(String artifactName) {
+        return artifactNames.contains(artifactName);
     }
 
     /**
@@ -34,14 +34,52 @@ import org.onap.aai.babel.xml.generator.model.Widget;
 import org.onap.aai.babel.xml.generator.model.WidgetType;
 import org.onap.aai.babel.xml.generator.types.ModelType;
 
+/**
+ * The configured Widget Types, Widgets and TOSCA type mappings. The configuration is held as an immutable, versioned
+ * {@link WidgetRegistry}. Each change builds a complete new registry which is then published by a single volatile
+ * write, so readers never see a partially built configuration.
+ *
+ * <p>
+ * A generation request captures the current registry (see {@link #captureRegistry()}) so that all of its lookups use
+ * the same version of the configuration, even if the configuration is reloaded while the request is in progress.
+ * Outside of a captured scope the lookups use the most recently published registry.
+ */
 public class WidgetConfigurationUtil {
 
     public static final String GENERATOR_AAI_CONFIGLPROP_NOT_FOUND =
             "Cannot generate artifacts. Widget configuration not found for %s";
 
-    private static List<String> instanceGroups = Collections.emptyList();
-    private static Map<String, Resource> typeToResource = new HashMap<>();
-    private static Map<String, Widget> typeToWidget = new HashMap<>();
+    private static volatile WidgetRegistry registry = new WidgetRegistry(0, null, Collections.emptyList(),
+            Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    private static final ThreadLocal<WidgetRegistry> capturedRegistry = new ThreadLocal<>();
+
+    /**
+     * The scope of a captured registry. Closing the scope restores the registry (if any) captured by the enclosing
+     * scope.
+     */
+    public static final class RegistryScope implements AutoCloseable {
+        private final WidgetRegistry registry;
+        private final WidgetRegistry previous;
+
+        private RegistryScope(WidgetRegistry registry, WidgetRegistry previous) {
+            this.registry = registry;
+            this.previous = previous;
+        }
+
+        public WidgetRegistry getRegistry() {
+            return registry;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                capturedRegistry.remove();
+            } else {
+                capturedRegistry.set(previous);
+            }
+        }
+    }
 
     /*
      * Private constructor to prevent instantiation.
@@ -50,21 +88,103 @@ public class WidgetConfigurationUtil {
         throw new UnsupportedOperationException("This static class should not be instantiated!");
     }
 
-    public static void setSupportedInstanceGroups(List<String> supportedInstanceGroups) {
-        instanceGroups = supportedInstanceGroups;
+    /**
+     * Capture the current registry for use by the calling thread until the returned scope is closed.
+     *
+     * @return the scope of the captured registry
+     */
+    public static RegistryScope captureRegistry() {
+        WidgetRegistry current = registry;
+        RegistryScope scope = new RegistryScope(current, capturedRegistry.get());
+        capturedRegistry.set(current);
+        return scope;
+    }
+
+    /**
+     * Get the registry in effect for the calling thread.
+     *
+     * @return the registry captured by the calling thread, or else the most recently published registry
+     */
+    public static WidgetRegistry getRegistry() {
+        WidgetRegistry captured = capturedRegistry.get();
+        return captured == null ? registry : captured;
+    }
+
+    /**
+     * Replace the whole widget configuration.
+     *
+     * @param config
+     *            the group configuration (instance groups, Widget Types and TOSCA type mappings)
+     * @param source
+     *            the location from which the configuration was read
+     * @throws IOException
+     *             if a widget mapping is invalid
+     * @throws IllegalArgumentException
+     *             if a Widget Type is incomplete, or a mandatory Widget Type is not configured
+     */
+    public static synchronized void setConfiguration(GroupConfiguration config, String source) throws IOException {
+        Map<String, WidgetType> widgetTypes = new HashMap<>();
+        Map<String, Widget> typeToWidget = createWidgets(config.getWidgetTypes(), widgetTypes);
+        Map<String, Resource> typeToResource =
+                createResources(config.getWidgetMappings(), widgetTypes, Collections.emptyMap());
+        publish(source, config.getInstanceGroupTypes(), widgetTypes, typeToWidget, typeToResource);
+    }
+
+    /**
+     * Get the location from which the current configuration was read.
+     *
+     * @return the source of the configuration, or null if it has been set (or modified) directly
+     */
+    public static String getConfigurationSource() {
+        return registry.getSource();
+    }
+
+    public static synchronized void setSupportedInstanceGroups(List<String> supportedInstanceGroups) {
+        WidgetRegistry current = registry;
+        publish(null, supportedInstanceGroups, current.getWidgetTypes(), current.getWidgets(),
+                current.getMappedResources());
     }
 
     public static boolean isSupportedInstanceGroup(String groupType) {
-        return instanceGroups.contains(groupType);
+        return getRegistry().isSupportedInstanceGroup(groupType);
+    }
+
+    /**
+     * Get the configured Widget Type with the supplied name.
+     *
+     * @param typeName
+     *            the name of the Widget Type
+     * @return the Widget Type, or null if there is no such type
+     */
+    public static WidgetType getWidgetType(String typeName) {
+        return getRegistry().getWidgetType(typeName);
+    }
+
+    /**
+     * Remove all of the Widget Types (and therefore the Widgets and mappings) from the configuration.
+     */
+    public static synchronized void clearWidgetTypes() {
+        publish(null, registry.getInstanceGroups(), Collections.emptyMap(), Collections.emptyMap(),
+                Collections.emptyMap());
     }
 
     public static Optional<Resource> createModelFromType(String typePrefix) {
-        Optional<Resource> resource = Optional.ofNullable(typeToResource.get(typePrefix));
-        if (resource.isPresent()) {
-            // Make a copy of the Resource found in the mappings table.
-            return Optional.of(new Resource(resource.get()));
-        }
-        return resource;
+        // Make a copy of the Resource found in the mappings table.
+        return getRegistry().getMappedResource(typePrefix).map(Resource::new);
+    }
+
+    /**
+     * Create a new Resource for the mapping of the supplied TOSCA type. If the type itself is not mapped, the type is
+     * resolved by repeatedly removing its last (dot-separated) segment until a mapped prefix is found. The outcome of
+     * the resolution (whether or not a mapping is found) is remembered, so that each type is resolved only once.
+     *
+     * @param toscaType
+     *            the TOSCA type
+     * @return a copy of the Resource mapped for the type, or else an empty Optional
+     */
+    public static Optional<Resource> resolveModelFromType(String toscaType) {
+        // Make a copy of the Resource found in the mappings table.
+        return getRegistry().resolveResource(toscaType).map(Resource::new);
     }
 
     /**
@@ -77,39 +197,99 @@ public class WidgetConfigurationUtil {
      *             if there is an internal error creating the Widget because of the defined widget mappings
      */
     public static Widget createWidgetFromType(String widgetType) throws XmlArtifactGenerationException {
-        Optional<Widget> widget = Optional.ofNullable(typeToWidget.get(widgetType));
-        if (widget.isPresent()) {
-            // Make a copy of the Widget found in the mappings table.
-            return new Widget(widget.get());
-        }
-        return null;
+        Widget widget = getRegistry().getWidget(widgetType);
+        // Make a copy of the Widget found in the mappings table.
+        return widget == null ? null : new Widget(widget);
+    }
+
+    /**
+     * Get the shared (immutable) definition of the Widget of the supplied Widget Type. No copy is made, so this is
+     * suitable for reading the Widget's details.
+     *
+     * @param widgetType
+     *            a String identifying the type of Widget
+     * @return the Widget definition, or else null
+     */
+    public static Widget getWidgetDefinition(String widgetType) {
+        return getRegistry().getWidget(widgetType);
+    }
+
+    /**
+     * Replace the Widget Types (and Widgets) of the configuration. The existing mappings are retained.
+     *
+     * @param types
+     *            the Widget Types
+     * @throws IllegalArgumentException
+     *             if a Widget Type is incomplete, or a mandatory Widget Type is not configured
+     */
+    public static synchronized void setWidgetTypes(List<WidgetTypeConfig> types) {
+        WidgetRegistry current = registry;
+        Map<String, WidgetType> widgetTypes = new HashMap<>();
+        Map<String, Widget> typeToWidget = createWidgets(types, widgetTypes);
+        publish(null, current.getInstanceGroups(), widgetTypes, typeToWidget, current.getMappedResources());
+    }
+
+    /**
+     * Add the supplied mappings to the configuration.
+     *
+     * @param mappings
+     *            the TOSCA type to Widget mappings
+     * @throws IOException
+     *             if a mapping is invalid (in which case none of the mappings is added)
+     */
+    public static synchronized void setWidgetMappings(List<WidgetMapping> mappings) throws IOException {
+        WidgetRegistry current = registry;
+        Map<String, Resource> typeToResource =
+                createResources(mappings, current.getWidgetTypes(), current.getMappedResources());
+        publish(null, current.getInstanceGroups(), current.getWidgetTypes(), current.getWidgets(), typeToResource);
     }
 
-    public static void setWidgetTypes(List<WidgetTypeConfig> types) {
-        WidgetType.clearElements();
+    /*
+     * Publish a new version of the registry. Callers must hold the class lock.
+     */
+    private static void publish(String source, List<String> instanceGroups, Map<String, WidgetType> widgetTypes,
+            Map<String, Widget> typeToWidget, Map<String, Resource> typeToResource) {
+        registry = new WidgetRegistry(registry.getVersion() + 1, source, instanceGroups, widgetTypes, typeToWidget,
+                typeToResource);
+    }
+
+    private static Map<String, Widget> createWidgets(List<WidgetTypeConfig> types,
+            Map<String, WidgetType> widgetTypes) {
+        Map<String, Widget> typeToWidget = new HashMap<>();
         for (WidgetTypeConfig type : types) {
             if (type.type == null || type.name == null || type.modelInvariantId == null
                     || type.modelVersionId == null) {
                 throw new IllegalArgumentException("Incomplete widget type specified: " + type);
             }
-            Widget widget = new Widget(new WidgetType(type.type), type.name, type.deleteFlag, //
+            WidgetType widgetType = new WidgetType(type.type);
+            widgetTypes.put(type.type, widgetType);
+            Widget widget = new Widget(widgetType, type.name, type.deleteFlag, //
                     type.modelInvariantId, type.modelVersionId);
             typeToWidget.put(type.type, widget);
         }
-        WidgetType.validateElements();
+        WidgetType.validateElements(widgetTypes);
+        Widget.createDefinitions(typeToWidget);
+        return typeToWidget;
     }
 
-    public static void setWidgetMappings(List<WidgetMapping> mappings) throws IOException {
+    private static Map<String, Resource> createResources(List<WidgetMapping> mappings,
+            Map<String, WidgetType> widgetTypes, Map<String, Resource> existingResources) throws IOException {
+        Map<String, Resource> typeToResource = new HashMap<>(existingResources);
         for (WidgetMapping mapping : mappings) {
             ModelType modelType = Optional.ofNullable(mapping.type).map(String::toUpperCase)
                     .map(s -> Enums.getIfPresent(ModelType.class, s).orNull()).orElse(null);
             if (mapping.prefix == null || mapping.widget == null || modelType == null) {
                 throw new IOException("Invalid widget mapping specified: " + mapping);
             }
-            Resource resource = new Resource(WidgetType.valueOf(mapping.widget), mapping.deleteFlag);
+            WidgetType widgetType = widgetTypes.get(mapping.widget);
+            if (widgetType == null) {
+                throw new IllegalArgumentException("Unknown WidgetType " + mapping.widget);
+            }
+            Resource resource = new Resource(widgetType, mapping.deleteFlag);
             resource.setModelType(modelType);
             typeToResource.put(mapping.prefix, resource);
         }
+        return typeToResource;
     }
 
 }
@@ -28,6 +28,10 @@ public class WidgetMapping {
     String widget;
     boolean deleteFlag = true;
 
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
     public void setType(String type) {
         this.type = type;
     }
@@ -0,0 +1,174 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.xml.generator.data;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.onap.aai.babel.xml.generator.model.Resource;
+import org.onap.aai.babel.xml.generator.model.Widget;
+import org.onap.aai.babel.xml.generator.model.WidgetType;
+
+/**
+ * An immutable, versioned snapshot of the widget configuration: the supported instance groups, the Widget Types and
+ * their Widgets, and the mappings from TOSCA type to Resource. A registry is never modified once published; a change
+ * to the configuration creates a new registry with a higher version. A generation request captures a single registry
+ * and uses it throughout, so that it is unaffected by any concurrent reload.
+ */
+public final class WidgetRegistry {
+
+    static final int MAX_RESOLVED_TYPES = 10_000;
+
+    private final long version;
+    private final String source;
+    private final List<String> instanceGroups;
+    private final Map<String, WidgetType> widgetTypes;
+    private final Map<String, Widget> typeToWidget;
+    private final Map<String, Resource> typeToResource;
+
+    /**
+     * The mapping resolved for each TOSCA type (by the longest mapped prefix), including types with no mapping. This
+     * is a cache derived from the (immutable) mappings, so it is discarded with the registry.
+     */
+    private final Map<String, Optional<Resource>> resolvedTypes = new ConcurrentHashMap<>();
+
+    WidgetRegistry(long version, String source, List<String> instanceGroups, Map<String, WidgetType> widgetTypes,
+            Map<String, Widget> typeToWidget, Map<String, Resource> typeToResource) {
+        this.version = version;
+        this.source = source;
+        this.instanceGroups = instanceGroups == null ? Collections.emptyList() : List.copyOf(instanceGroups);
+        this.widgetTypes = Map.copyOf(widgetTypes);
+        this.typeToWidget = Map.copyOf(typeToWidget);
+        this.typeToResource = Map.copyOf(typeToResource);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the location from which this configuration was read.
+     *
+     * @return the source of the configuration, or null if it was set (or modified) directly
+     */
+    public String getSource() {
+        return source;
+    }
+
+    public boolean isSupportedInstanceGroup(String groupType) {
+        return instanceGroups.contains(groupType);
+    }
+
+    /**
+     * Get the Widget Type with the supplied name.
+     *
+     * @param typeName
+     *            the name of the Widget Type
+     * @return the Widget Type, or null if there is no such type
+     */
+    public WidgetType getWidgetType(String typeName) {
+        return typeName == null ? null : widgetTypes.get(typeName);
+    }
+
+    /**
+     * Get the (shared) definition of the Widget configured for the supplied Widget Type.
+     *
+     * @param widgetType
+     *            the name of the Widget Type
+     * @return the configured Widget, or null
+     */
+    public Widget getWidget(String widgetType) {
+        return widgetType == null ? null : typeToWidget.get(widgetType);
+    }
+
+    /**
+     * Get the (shared) Resource mapped for exactly the supplied TOSCA type or prefix. The Resource must not be
+     * modified.
+     *
+     * @param typePrefix
+     *            the TOSCA type (or prefix)
+     * @return the mapped Resource, or else an empty Optional
+     */
+    public Optional<Resource> getMappedResource(String typePrefix) {
+        return Optional.ofNullable(typePrefix == null ? null : typeToResource.get(typePrefix));
+    }
+
+    /**
+     * Get the (shared) Resource mapped for the supplied TOSCA type. If the type itself is not mapped, the type is
+     * resolved by repeatedly removing its last (dot-separated) segment until a mapped prefix is found. The outcome of
+     * the resolution (whether or not a mapping is found) is remembered, so that each type is resolved only once. The
+     * Resource must not be modified.
+     *
+     * @param toscaType
+     *            the TOSCA type
+     * @return the mapped Resource, or else an empty Optional
+     */
+    public Optional<Resource> resolveResource(String toscaType) {
+        Optional<Resource> resource = resolvedTypes.get(toscaType);
+        if (resource == null) {
+            resource = resolveType(toscaType);
+            if (resolvedTypes.size() < MAX_RESOLVED_TYPES) {
+                resolvedTypes.put(toscaType, resource);
+            }
+        }
+        return resource;
+    }
+
+    List<String> getInstanceGroups() {
+        return instanceGroups;
+    }
+
+    Map<String, WidgetType> getWidgetTypes() {
+        return widgetTypes;
+    }
+
+    Map<String, Widget> getWidgets() {
+        return typeToWidget;
+    }
+
+    Map<String, Resource> getMappedResources() {
+        return typeToResource;
+    }
+
+    private Optional<Resource> resolveType(String toscaType) {
+        String typePrefix = toscaType;
+        while (!typePrefix.isEmpty()) {
+            Resource resource = typeToResource.get(typePrefix);
+            if (resource != null) {
+                return Optional.of(resource);
+            }
+            int lastSeparator = typePrefix.lastIndexOf('.');
+            if (lastSeparator == -1) {
+                break;
+            }
+            typePrefix = typePrefix.substring(0, lastSeparator);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        return "WidgetRegistry [version=" + version + ", source=" + source + "]";
+    }
+}
@@ -145,24 +145,11 @@ public abstract class Model {
     public static Resource getModelFor(String toscaType) {
         Resource resource = null;
         if (toscaType != null && !toscaType.isEmpty()) {
-            resource = getModelFromType(toscaType).orElseGet(() -> Model.getModelFromPrefix(toscaType));
+            resource = WidgetConfigurationUtil.resolveModelFromType(toscaType).orElse(null);
         }
         return resource;
     }
 
-    private static Resource getModelFromPrefix(String toscaType) {
-        Resource resource = null;
-        int lastSeparator = toscaType.lastIndexOf('.');
-        if (lastSeparator != -1) {
-            resource = getModelFor(toscaType.substring(0, lastSeparator));
-        }
-        return resource;
-    }
-
-    private static Optional<Resource> getModelFromType(String typePrefix) {
-        return WidgetConfigurationUtil.createModelFromType(typePrefix);
-    }
-
     /**
      * Gets the object (model) corresponding to the supplied TOSCA type information, prioritising the metadata
      * information.
@@ -200,7 +187,7 @@ public abstract class Model {
      * @return true if the Widget Type of this model matches the supplied type
      */
     public boolean hasWidgetType(String type) {
-        return getWidgetType() == WidgetType.valueOf(type);
+        return WidgetType.valueOf(type).equals(getWidgetType());
     }
 
     public boolean addResource(Resource resource) {
@@ -259,7 +246,7 @@ public abstract class Model {
      * @throws XmlArtifactGenerationException
      */
     public String getWidgetId() throws XmlArtifactGenerationException {
-        return Widget.createWidget(getWidgetType()).getId();
+        return Widget.getDefinition(getWidgetType()).getId();
     }
 
     /**
@@ -269,7 +256,7 @@ public abstract class Model {
      * @throws XmlArtifactGenerationException
      */
     public String getWidgetInvariantId() throws XmlArtifactGenerationException {
-        return Widget.createWidget(getWidgetType()).getWidgetId();
+        return Widget.getDefinition(getWidgetType()).getWidgetId();
     }
 
     /**
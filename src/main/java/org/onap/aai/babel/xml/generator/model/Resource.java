@@ -106,7 +106,7 @@ public class Resource extends Model {
      */
     @Override
     public boolean addWidget(Widget widget) throws XmlArtifactGenerationException {
-        if (type == WidgetType.valueOf("VFMODULE")) {
+        if (WidgetType.valueOf("VFMODULE").equals(type)) {
             if (widget.memberOf(members)) {
                 if (vserver == null && widget.hasWidgetType("VSERVER")) {
                     addVserverWidget(widget);
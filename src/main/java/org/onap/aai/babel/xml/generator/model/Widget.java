@@ -24,6 +24,8 @@ package org.onap.aai.babel.xml.generator.model;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.onap.aai.babel.xml.generator.XmlArtifactGenerationException;
 import org.onap.aai.babel.xml.generator.data.WidgetConfigurationUtil;
@@ -34,7 +36,15 @@ public class Widget extends Model {
 
     public static final String GENERATOR_AAI_CONFIGLPROP_NOT_FOUND = "Cannot generate artifacts. Widget configuration not found for %s";
 
-    private Set<String> keys = new HashSet<>();
+    private static final String VSERVER_TYPE = "VSERVER";
+
+    /**
+     * The Widget Types which are added as children of every VSERVER Widget.
+     */
+    private static final List<String> VSERVER_CHILD_TYPES = List.of("FLAVOR", "IMAGE", "TENANT", "VFC");
+
+    private Set<String> keys = Collections.emptySet();
+    private final boolean definition;
 
     protected String name;
     protected WidgetType type;
@@ -44,6 +54,12 @@ public class Widget extends Model {
     private String modelVersionId;
 
     public Widget(WidgetType widgetType, String name, boolean deleteFlag, String modelInvariantId, String modelVersionId) {
+        this(widgetType, name, deleteFlag, modelInvariantId, modelVersionId, false);
+    }
+
+    private Widget(WidgetType widgetType, String name, boolean deleteFlag, String modelInvariantId,
+            String modelVersionId, boolean definition) {
+        this.definition = definition;
         type = widgetType;
         this.name = name;
         this.deleteFlag = deleteFlag;
@@ -52,7 +68,8 @@ public class Widget extends Model {
     }
 
     /**
-     * Copy Constructor.
+     * Copy Constructor. The child Widgets of a Widget definition are shared (rather than copied) because they are
+     * never modified.
      *
      * @param baseWidget
      * @throws XmlArtifactGenerationException
@@ -60,14 +77,77 @@ public class Widget extends Model {
      */
     public Widget(Widget baseWidget) throws XmlArtifactGenerationException {
         this(baseWidget.getWidgetType(), baseWidget.getName(), baseWidget.getDeleteFlag(), baseWidget.getWidgetId(), baseWidget.getId());
-        if (this.hasWidgetType("VSERVER")) {
-            widgets.add(createWidget("FLAVOR"));
-            widgets.add(createWidget("IMAGE"));
-            widgets.add(createWidget("TENANT"));
-            widgets.add(createWidget("VFC"));
+        if (baseWidget.definition) {
+            widgets.addAll(baseWidget.widgets);
+        } else if (this.hasWidgetType(VSERVER_TYPE)) {
+            for (String childType : VSERVER_CHILD_TYPES) {
+                widgets.add(getDefinition(childType));
+            }
         }
     }
 
+    /**
+     * Create the immutable (shareable) definitions of the configured Widgets. A VSERVER definition includes the
+     * definitions of its child Widgets.
+     *
+     * @param widgets
+     *            the configured Widgets, by Widget Type name; each Widget is replaced by its definition
+     * @throws IllegalArgumentException
+     *             if any of the VSERVER child types is not configured
+     */
+    public static void createDefinitions(Map<String, Widget> widgets) {
+        widgets.replaceAll((typeName, widget) -> new Widget(widget.type, widget.name, widget.deleteFlag,
+                widget.modelInvariantId, widget.modelVersionId, true));
+        Widget vserver = widgets.get(VSERVER_TYPE);
+        if (vserver != null) {
+            for (String childType : VSERVER_CHILD_TYPES) {
+                Widget child = widgets.get(childType);
+                if (child == null) {
+                    throw new IllegalArgumentException("Unknown WidgetType " + childType);
+                }
+                vserver.widgets.add(child);
+            }
+            vserver.widgets = Collections.unmodifiableSet(vserver.widgets);
+        }
+        for (Widget widget : widgets.values()) {
+            if (widget != vserver) {
+                widget.widgets = Collections.emptySet();
+            }
+            widget.resources = Collections.emptySet();
+        }
+    }
+
+    /**
+     * Get the shared definition of the Widget of the specified type. The definition cannot be modified; use
+     * {@link #createWidget(String)} for a Widget that will be modified.
+     *
+     * @param type
+     *            String value of the Widget Type
+     * @return the definition of the Widget
+     * @throws XmlArtifactGenerationException
+     *             if the configured widget mappings do not support the specified type
+     */
+    public static Widget getDefinition(String type) throws XmlArtifactGenerationException {
+        Widget widget = WidgetConfigurationUtil.getWidgetDefinition(type);
+        if (widget == null) {
+            throw new XmlArtifactGenerationException("No widget type is defined for " + type);
+        }
+        return widget;
+    }
+
+    /**
+     * Get the shared definition of the Widget of the specified type.
+     *
+     * @param type
+     *            the Widget Type
+     * @return the definition of the Widget
+     * @throws XmlArtifactGenerationException
+     *             if there is no configuration defined for the specified type
+     */
+    public static Widget getDefinition(WidgetType type) throws XmlArtifactGenerationException {
+        return getDefinition(type.toString());
+    }
+
     /**
      * Creates a new widget of the specified type.
      *
@@ -142,15 +222,29 @@ public class Widget extends Model {
         boolean isEqual = false;
         if (obj instanceof Widget other) {
             if (getId().equals(other.getId())) {
-                other.keys.addAll(this.keys);
+                if (!other.definition) {
+                    keys.forEach(other::addKey);
+                }
                 isEqual = true;
             }
         }
         return isEqual;
     }
 
+    /**
+     * Add a key to this Widget.
+     *
+     * @param key
+     *            the key
+     * @throws IllegalAccessException
+     *             if this Widget is a (shared) definition
+     */
     public void addKey(String key) {
-        this.keys.add(key);
+        checkModifiable();
+        if (keys.isEmpty()) {
+            keys = new HashSet<>();
+        }
+        keys.add(key);
     }
 
     /**
@@ -174,12 +268,19 @@ public class Widget extends Model {
 
     @Override
     public boolean addWidget(Widget widget) {
-        if (getWidgetType() == WidgetType.valueOf("VSERVER")) {
+        checkModifiable();
+        if (WidgetType.valueOf(VSERVER_TYPE).equals(getWidgetType())) {
             return widgets.add(widget);
         }
         return true;
     }
 
+    private void checkModifiable() {
+        if (definition) {
+            throw new IllegalAccessException(GENERATOR_AAI_ERROR_UNSUPPORTED_WIDGET_OPERATION);
+        }
+    }
+
     @Override
     public String toString() {
         return getName() + " Widget keys=" + keys + ", resources=" + resources + ", widgets=" + widgets;
@@ -22,21 +22,17 @@
 package org.onap.aai.babel.xml.generator.model;
 
 import java.util.Arrays;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import org.onap.aai.babel.xml.generator.data.WidgetConfigurationUtil;
 
 /**
- * Widget Type Enumeration.
+ * Widget Type Enumeration. The set of Widget Types is created dynamically, and held in the widget configuration.
  *
  */
 public class WidgetType {
 
-    /**
-     * Dynamically created set of Widget Types.
-     */
-    private static Map<String, WidgetType> elements = new LinkedHashMap<>();
-
     /**
      * Types that must be present for Model generation to function correctly.
      */
@@ -49,25 +45,53 @@ public class WidgetType {
 
     public WidgetType(String name) {
         this.name = name;
-        elements.put(name, this);
     }
 
     public static void clearElements() {
-        elements.clear();
+        WidgetConfigurationUtil.clearWidgetTypes();
     }
 
-    public static void validateElements() {
-        mandatoryElements.forEach(WidgetType::valueOf);
+    /**
+     * Check that a set of Widget Types contains all of the types required for Model generation.
+     *
+     * @param elements
+     *            the Widget Types, by name
+     * @throws IllegalArgumentException
+     *             if a mandatory type is missing
+     */
+    public static void validateElements(Map<String, WidgetType> elements) {
+        for (String typeName : mandatoryElements) {
+            if (!elements.containsKey(typeName)) {
+                throw new IllegalArgumentException("Unknown WidgetType " + typeName);
+            }
+        }
     }
 
     public static WidgetType valueOf(String typeName) {
-        WidgetType type = elements.get(typeName);
+        WidgetType type = WidgetConfigurationUtil.getWidgetType(typeName);
         if (type == null) {
             throw new IllegalArgumentException("Unknown WidgetType " + typeName);
         }
         return type;
     }
 
+    /**
+     * Widget Types are equal if they have the same name, so that a type from one version of the widget configuration
+     * matches the same type from another version.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        return other instanceof WidgetType && Objects.equals(name, ((WidgetType) other).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(name);
+    }
+
     @Override
     public String toString() {
         return name;
@@ -0,0 +1,168 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.onap.aai.auth.AAIAuthException;
+import org.onap.aai.auth.AAIMicroServiceAuthCore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the authorization of a request against a policy with hundreds of users and roles, in which each user is
+ * assigned several roles and each role allows several methods of several functions. {@link #previousAuthorize()} is
+ * the implementation before the policy was compiled: the "METHOD:function" string is built for every request, and
+ * each of the user's roles is searched in turn. About a quarter of the requests are for a function that the user is
+ * not allowed, which requires every role to be searched.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MicroServiceAuthCoreBenchmark {
+
+    private static final String[] METHODS = {"GET", "PUT", "POST", "DELETE"};
+    private static final int FUNCTIONS_PER_ROLE = 10;
+    private static final int ROLES_PER_USER = 5;
+    private static final int REQUESTS = 1024;
+
+    @Param({"300"})
+    private int roleCount;
+
+    @Param({"200"})
+    private int userCount;
+
+    private final Map<String, Map<String, List<String>>> previousUsers = new HashMap<>();
+    private final String[] usernames = new String[REQUESTS];
+    private final String[] methods = new String[REQUESTS];
+    private final String[] functions = new String[REQUESTS];
+    private int request;
+    private File policyFile;
+
+    @Setup
+    public void setup() throws IOException, AAIAuthException {
+        JSONArray rolesArray = new JSONArray();
+        List<List<String>> roleFunctions = new ArrayList<>();
+        for (int role = 0; role < roleCount; role++) {
+            JSONArray functionsArray = new JSONArray();
+            List<String> allowedFunctions = new ArrayList<>();
+            for (int function = 0; function < FUNCTIONS_PER_ROLE; function++) {
+                String functionName = "function" + role + "_" + function;
+                JSONArray methodsArray = new JSONArray();
+                for (String method : METHODS) {
+                    methodsArray.put(new JSONObject().put("name", method));
+                    allowedFunctions.add(method + ":" + functionName);
+                }
+                functionsArray.put(new JSONObject().put("name", functionName).put("methods", methodsArray));
+            }
+            roleFunctions.add(allowedFunctions);
+            rolesArray.put(new JSONObject().put("name", "role" + role).put("functions", functionsArray)
+                    .put("users", new JSONArray()));
+        }
+
+        for (int user = 0; user < userCount; user++) {
+            Map<String, List<String>> roles = new HashMap<>();
+            for (int i = 0; i < ROLES_PER_USER; i++) {
+                int role = getRole(user, i);
+                rolesArray.getJSONObject(role).getJSONArray("users")
+                        .put(new JSONObject().put("username", "user" + user));
+                roles.put("role" + role, roleFunctions.get(role));
+            }
+            previousUsers.put("user" + user, roles);
+        }
+
+        Random random = new Random(1);
+        for (int i = 0; i < REQUESTS; i++) {
+            int user = random.nextInt(userCount);
+            usernames[i] = "user" + user;
+            methods[i] = METHODS[random.nextInt(METHODS.length)];
+            functions[i] = random.nextInt(4) == 0 ? "unknown"
+                    : "function" + getRole(user, random.nextInt(ROLES_PER_USER)) + "_"
+                            + random.nextInt(FUNCTIONS_PER_ROLE);
+        }
+
+        policyFile = File.createTempFile("auth-policy", ".json");
+        Files.writeString(policyFile.toPath(), new JSONObject().put("roles", rolesArray).toString(),
+                StandardCharsets.UTF_8);
+        AAIMicroServiceAuthCore.init(policyFile.getAbsolutePath());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        AAIMicroServiceAuthCore.cleanup();
+        Files.deleteIfExists(policyFile.toPath());
+    }
+
+    @Benchmark
+    public boolean previousAuthorize() {
+        int i = nextRequest();
+        Map<String, List<String>> roles = previousUsers.get(usernames[i]);
+        if (roles == null) {
+            return false;
+        }
+        String checkFunc = methods[i] + ":" + functions[i];
+        for (List<String> allowedFunctions : roles.values()) {
+            if (allowedFunctions.contains(checkFunc)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean authorize() throws AAIAuthException {
+        int i = nextRequest();
+        return AAIMicroServiceAuthCore.authorize(usernames[i], methods[i], functions[i]);
+    }
+
+    private int nextRequest() {
+        request = (request + 1) % REQUESTS;
+        return request;
+    }
+
+    private int getRole(int user, int i) {
+        return (user * 7 + i * 31) % roleCount;
+    }
+}
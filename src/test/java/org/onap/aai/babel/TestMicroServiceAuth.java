@@ -138,6 +138,31 @@ public class TestMicroServiceAuth {
         }
     }
 
+    /**
+     * Test that the last successfully loaded policy remains in force when the auth policy file cannot be reloaded.
+     *
+     * @throws AAIAuthException
+     *             if the test creates invalid Auth Policy roles
+     * @throws JSONException
+     *             if this test creates an invalid JSON object
+     * @throws IOException
+     *             for I/O failures, e.g. when creating the temporary auth policy file
+     */
+    @Test
+    public void testFailedReloadRetainsPolicy() throws AAIAuthException, JSONException, IOException {
+        File file = createTestPolicyFile();
+        AAIMicroServiceAuthCore.init(file.getAbsolutePath());
+        assertThat(AAIMicroServiceAuthCore.authorize("user", "method:func"), is(true));
+
+        writeToFile(file, "not valid JSON content");
+        assertThrows(AAIAuthException.class, AAIMicroServiceAuthCore::reloadUsers);
+        assertThat(AAIMicroServiceAuthCore.authorize("user", "method:func"), is(true));
+
+        assertThat(file.delete(), is(true));
+        assertThrows(AAIAuthException.class, AAIMicroServiceAuthCore::reloadUsers);
+        assertThat(AAIMicroServiceAuthCore.authorize("user", "method:func"), is(true));
+    }
+
     /**
      * Test reloading of the auth policy file after this file has been made invalid.
      *
@@ -261,6 +286,49 @@ public class TestMicroServiceAuth {
         assertThat(AAIMicroServiceAuthCore.authorize(VALID_ADMIN_USER, "WRONG:action"), is(false));
     }
 
+    /**
+     * Test authorization against a policy with many users and roles, where users are assigned several roles and
+     * functions are allowed for all methods by default.
+     *
+     * @throws AAIAuthException
+     *             if the Auth Policy cannot be loaded
+     * @throws IOException
+     *             for I/O failures, e.g. when creating the temporary auth policy file
+     * @throws JSONException
+     *             if this test creates an invalid JSON object
+     */
+    @Test
+    public void testLargePolicy() throws AAIAuthException, IOException, JSONException {
+        final int roleCount = 300;
+        JSONArray rolesArray = new JSONArray();
+        for (int i = 0; i < roleCount; i++) {
+            JSONArray functionsArray = createFunctionObject("func" + i);
+            JSONObject allMethods = new JSONObject();
+            allMethods.put("name", "shared" + i % 10);
+            functionsArray.put(allMethods);
+
+            JSONObject role = new JSONObject();
+            role.put("name", "role" + i);
+            role.put("functions", functionsArray);
+            role.put("users", createUserObject("User" + i).put(new JSONObject().put("username", "user" + (i + 1))));
+            rolesArray.put(role);
+        }
+        File file = createTempPolicyFile(new JSONObject().put("roles", rolesArray));
+        AAIMicroServiceAuthCore.init(file.getAbsolutePath());
+
+        // user1 is assigned role0 and role1
+        assertThat(AAIMicroServiceAuthCore.authorize("user1", "method", "func0"), is(true));
+        assertThat(AAIMicroServiceAuthCore.authorize("user1", "method:func1"), is(true));
+        assertThat(AAIMicroServiceAuthCore.authorize("user1", "method", "func2"), is(false));
+        assertThat(AAIMicroServiceAuthCore.authorize("user1", "GET", "func0"), is(false));
+        assertThat(AAIMicroServiceAuthCore.authorize("user1", "DELETE", "shared1"), is(true));
+        assertThat(AAIMicroServiceAuthCore.authorize("user1", "method", "shared1"), is(false));
+        assertThat(AAIMicroServiceAuthCore.authorize("user1", "GET", "shared2"), is(false));
+        assertThat(AAIMicroServiceAuthCore.authorize("user" + roleCount, "POST:shared9"), is(true));
+        assertThat(AAIMicroServiceAuthCore.authorize("user" + (roleCount + 1), "method", "func0"), is(false));
+        assertThat(AAIMicroServiceAuthCore.authorize("user1", "func0"), is(false));
+    }
+
     @Test
     public void testValidateRequest() throws AAIAuthException {
         AAIMicroServiceAuth auth = createStandardAuth();
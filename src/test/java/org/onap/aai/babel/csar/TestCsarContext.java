@@ -0,0 +1,205 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.csar;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.onap.aai.babel.csar.extractor.ArchiveLimits;
+import org.onap.aai.babel.csar.extractor.InvalidArchiveException;
+import org.onap.aai.babel.csar.vnfcatalog.ToscaToCatalogException;
+import org.onap.aai.babel.csar.vnfcatalog.VnfVendorImageExtractor;
+import org.onap.aai.babel.service.data.BabelArtifact;
+import org.onap.aai.babel.testdata.CsarTest;
+import org.onap.aai.babel.util.ArtifactTestUtils;
+import org.onap.sdc.tosca.parser.exceptions.SdcToscaParserException;
+import org.onap.sdc.tosca.parser.impl.SdcToscaParserFactory;
+
+/**
+ * Tests {@link CsarContext}.
+ */
+public class TestCsarContext {
+
+    private AtomicInteger parseCount;
+
+    @BeforeEach
+    public void setup() {
+        new ArtifactTestUtils().setGeneratorSystemProperties();
+        parseCount = new AtomicInteger();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(CsarContext.PROPERTY_CSAR_SOURCE);
+        System.clearProperty(CsarContext.PROPERTY_MEMORY_DIRECTORY);
+    }
+
+    /**
+     * Test that the XML model generator and the VNF catalog extractor share a single parse of the CSAR.
+     *
+     * @throws IOException
+     *             if the test CSAR cannot be loaded
+     * @throws CsarConverterException
+     *             if the XML models cannot be generated
+     * @throws ToscaToCatalogException
+     *             if the VNF catalog cannot be extracted
+     */
+    @Test
+    public void testCsarIsParsedOnce() throws IOException, CsarConverterException, ToscaToCatalogException {
+        try (CsarContext csar = createCountingContext(CsarTest.VNF_VENDOR_CSAR.getContent())) {
+            List<BabelArtifact> models =
+                    new CsarToXmlConverter().generateXmlFromCsar(csar, CsarTest.VNF_VENDOR_CSAR.getName(), "1.0");
+            BabelArtifact vnfCatalog = new VnfVendorImageExtractor().extract(csar);
+
+            assertThat(models.isEmpty(), is(false));
+            assertThat(vnfCatalog, is(notNullValue()));
+        }
+        assertThat(parseCount.get(), is(1));
+    }
+
+    /**
+     * Test that the CSAR content is checked against the archive limits, and that the outcome is recorded.
+     *
+     * @throws IOException
+     *             if the test CSAR cannot be loaded
+     * @throws InvalidArchiveException
+     *             if the test CSAR exceeds the default limits (not expected)
+     */
+    @Test
+    public void testCheckArchive() throws IOException, InvalidArchiveException {
+        try (CsarContext csar = CsarTest.VNF_VENDOR_CSAR.getCsarContext()) {
+            assertThat(csar.isArchiveChecked(), is(false));
+            csar.checkArchive();
+            assertThat(csar.isArchiveChecked(), is(true));
+        }
+
+        System.setProperty(ArchiveLimits.PROPERTY_MAX_ENTRY_SIZE, "1");
+        try (CsarContext csar = CsarTest.VNF_VENDOR_CSAR.getCsarContext()) {
+            assertThrows(InvalidArchiveException.class, csar::checkArchive);
+            assertThat(csar.isArchiveChecked(), is(false));
+        } finally {
+            System.clearProperty(ArchiveLimits.PROPERTY_MAX_ENTRY_SIZE);
+        }
+    }
+
+    /**
+     * Test that a parser failure is reported to each caller without parsing the CSAR again.
+     */
+    @Test
+    public void testParserFailureIsNotRepeated() {
+        try (CsarContext csar = createCountingContext("not a real file".getBytes())) {
+            assertThrows(SdcToscaParserException.class, csar::getCsarHelper);
+            assertThrows(SdcToscaParserException.class, csar::getCsarHelper);
+        }
+        assertThat(parseCount.get(), is(1));
+    }
+
+    /**
+     * Test that the CSAR file for the parser is written to the memory-backed directory and deleted on close.
+     *
+     * @param memoryDirectory
+     *            the directory standing in for the memory-backed file system
+     * @throws IOException
+     *             if the temporary file cannot be written
+     * @throws SdcToscaParserException
+     *             if the parser fails (not expected)
+     */
+    @Test
+    public void testCsarIsWrittenToMemoryDirectory(@TempDir Path memoryDirectory)
+            throws IOException, SdcToscaParserException {
+        System.setProperty(CsarContext.PROPERTY_CSAR_SOURCE, CsarContext.CSAR_SOURCE_MEMORY);
+        System.setProperty(CsarContext.PROPERTY_MEMORY_DIRECTORY, memoryDirectory.toString());
+        AtomicReference<Path> parsedPath = new AtomicReference<>();
+        try (CsarContext csar = new CsarContext("csar".getBytes(), csarFilepath -> {
+            parsedPath.set(Paths.get(csarFilepath));
+            return null;
+        })) {
+            csar.getCsarHelper();
+            assertThat(parsedPath.get().getParent(), is(memoryDirectory.toAbsolutePath()));
+            assertThat(Files.readAllBytes(parsedPath.get()), is("csar".getBytes()));
+        }
+        assertThat(Files.exists(parsedPath.get()), is(false));
+    }
+
+    /**
+     * Test that the memory-backed directory is only selected when it is configured and available.
+     *
+     * @param memoryDirectory
+     *            the directory standing in for the memory-backed file system
+     */
+    @Test
+    public void testTempDirectorySelection(@TempDir Path memoryDirectory) {
+        System.setProperty(CsarContext.PROPERTY_MEMORY_DIRECTORY, memoryDirectory.toString());
+        assertThat(CsarContext.getTempDirectory(), is(nullValue()));
+
+        System.setProperty(CsarContext.PROPERTY_CSAR_SOURCE, CsarContext.CSAR_SOURCE_MEMORY);
+        assertThat(CsarContext.getTempDirectory(), is(memoryDirectory));
+
+        System.setProperty(CsarContext.PROPERTY_CSAR_SOURCE, CsarContext.CSAR_SOURCE_FILE);
+        assertThat(CsarContext.getTempDirectory(), is(nullValue()));
+
+        System.setProperty(CsarContext.PROPERTY_CSAR_SOURCE, CsarContext.CSAR_SOURCE_MEMORY);
+        System.setProperty(CsarContext.PROPERTY_MEMORY_DIRECTORY, memoryDirectory.resolve("missing").toString());
+        assertThat(CsarContext.getTempDirectory(), is(nullValue()));
+    }
+
+    /**
+     * Test that the CSAR file is written to the default temporary-file directory if it cannot be written to the
+     * memory-backed directory.
+     *
+     * @param memoryDirectory
+     *            the directory standing in for the memory-backed file system
+     * @throws IOException
+     *             if the temporary file cannot be written
+     */
+    @Test
+    public void testFallbackToTempDirectory(@TempDir Path memoryDirectory) throws IOException {
+        Path path = CsarContext.createTempFile(memoryDirectory.resolve("removed"), "csar".getBytes());
+        try {
+            assertThat(path.getParent(), is(Paths.get(System.getProperty("java.io.tmpdir")).toAbsolutePath()));
+            assertThat(Files.readAllBytes(path), is("csar".getBytes()));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private CsarContext createCountingContext(byte[] csarArchive) {
+        return new CsarContext(csarArchive, csarFilepath -> {
+            parseCount.incrementAndGet();
+            return SdcToscaParserFactory.getInstance().getSdcCsarHelper(csarFilepath);
+        });
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.csar.extractor;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.junit.jupiter.api.Test;
+import org.onap.aai.babel.testdata.CsarTest;
+
+/**
+ * Tests {@link ArchiveLimits}.
+ */
+public class ArchiveLimitsTest {
+
+    private static final int MEGABYTE = 1024 * 1024;
+
+    @Test
+    public void testDefaultLimitsAcceptCsar() {
+        assertDoesNotThrow(() -> new ArchiveLimits().check(CsarTest.VNF_VENDOR_CSAR.getContent()));
+    }
+
+    @Test
+    public void testContentWhichIsNotAnArchiveIsNotRejected() {
+        assertDoesNotThrow(() -> new ArchiveLimits().check("not a zip file".getBytes()));
+    }
+
+    @Test
+    public void testReadArchiveWithinLimit() throws IOException, InvalidArchiveException {
+        byte[] content = new byte[120];
+        assertEquals(120, new ArchiveLimits(5, 100, 120, 100).read(new ByteArrayInputStream(content)).length);
+    }
+
+    @Test
+    public void testReadArchiveExceedingLimit() {
+        byte[] content = new byte[121];
+        InvalidArchiveException e = assertThrows(InvalidArchiveException.class,
+                () -> new ArchiveLimits(5, 100, 120, 100).read(new ByteArrayInputStream(content)));
+        assertEquals("The CSAR content exceeds the maximum size of 120 bytes.", e.getMessage());
+    }
+
+    @Test
+    public void testTooManyEntries() throws IOException {
+        byte[] archive = createArchive(3, 10);
+        InvalidArchiveException e =
+                assertThrows(InvalidArchiveException.class, () -> new ArchiveLimits(2, 100, 100, 100).check(archive));
+        assertEquals("The CSAR archive contains more than the maximum of 2 entries.", e.getMessage());
+    }
+
+    @Test
+    public void testEntryTooLarge() throws IOException {
+        byte[] archive = createArchive(1, 101);
+        InvalidArchiveException e =
+                assertThrows(InvalidArchiveException.class, () -> new ArchiveLimits(2, 100, 200, 100).check(archive));
+        assertEquals("The CSAR entry entry0.yml exceeds the maximum uncompressed size of 100 bytes.", e.getMessage());
+    }
+
+    @Test
+    public void testArchiveTooLarge() throws IOException {
+        byte[] archive = createArchive(3, 50);
+        InvalidArchiveException e =
+                assertThrows(InvalidArchiveException.class, () -> new ArchiveLimits(5, 100, 120, 100).check(archive));
+        assertEquals("The CSAR archive exceeds the maximum uncompressed size of 120 bytes.", e.getMessage());
+    }
+
+    @Test
+    public void testCompressionRatioTooHigh() throws IOException {
+        byte[] archive = createArchive(1, 2 * MEGABYTE);
+        ArchiveLimits limits = new ArchiveLimits(1, 4 * MEGABYTE, 4 * MEGABYTE, 100);
+        InvalidArchiveException e = assertThrows(InvalidArchiveException.class, () -> limits.check(archive));
+        assertEquals("The CSAR entry entry0.yml exceeds the maximum compression ratio of 100.", e.getMessage());
+    }
+
+    /**
+     * Test that the entry size is enforced on the bytes read, whatever size is declared for the entry.
+     *
+     * @throws IOException
+     *             if the stream cannot be read (not expected)
+     */
+    @Test
+    public void testSizeIsEnforcedWhileReading() throws IOException {
+        ArchiveLimits limits = new ArchiveLimits(1, 100, 100, 100);
+        try (InputStream stream = limits.limit(new ZipArchiveEntry("undeclared.yml"),
+                new ByteArrayInputStream(new byte[101]), new AtomicLong())) {
+            IOException e = assertThrows(IOException.class, () -> stream.transferTo(OutputStream.nullOutputStream()));
+            assertEquals("The CSAR entry undeclared.yml exceeds the maximum uncompressed size of 100 bytes.",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Test that the uncompressed size of the archive is enforced on the running total of the bytes read from all of its
+     * entries, whatever sizes are declared for the entries.
+     *
+     * @throws IOException
+     *             if the stream cannot be read (not expected)
+     */
+    @Test
+    public void testArchiveSizeIsEnforcedWhileReading() throws IOException {
+        ArchiveLimits limits = new ArchiveLimits(2, 100, 150, 100);
+        AtomicLong inflatedSize = new AtomicLong();
+        try (InputStream stream = limits.limit(new ZipArchiveEntry("first.yml"),
+                new ByteArrayInputStream(new byte[100]), inflatedSize)) {
+            stream.transferTo(OutputStream.nullOutputStream());
+        }
+        try (InputStream stream = limits.limit(new ZipArchiveEntry("second.yml"),
+                new ByteArrayInputStream(new byte[100]), inflatedSize)) {
+            IOException e = assertThrows(IOException.class, () -> stream.transferTo(OutputStream.nullOutputStream()));
+            assertEquals("The CSAR archive exceeds the maximum uncompressed size of 150 bytes.", e.getMessage());
+        }
+    }
+
+    /**
+     * Create a compressed archive of YAML entries, each containing only zero bytes.
+     *
+     * @param entries
+     *            the number of entries
+     * @param entrySize
+     *            the uncompressed size of each entry
+     * @return the archive content
+     * @throws IOException
+     *             if the archive cannot be written
+     */
+    private byte[] createArchive(int entries, int entrySize) throws IOException {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(archive)) {
+            for (int i = 0; i < entries; i++) {
+                zip.putNextEntry(new ZipEntry("entry" + i + ".yml"));
+                zip.write(new byte[entrySize]);
+                zip.closeEntry();
+            }
+        }
+        return archive.toByteArray();
+    }
+}
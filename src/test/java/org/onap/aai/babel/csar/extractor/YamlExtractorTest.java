@@ -23,6 +23,7 @@ package org.onap.aai.babel.csar.extractor;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -133,6 +134,21 @@ public class YamlExtractorTest {
         });
     }
 
+    @Test
+    public void testEntryExceedingLimitsIsReportedWhenRead() throws IOException, InvalidArchiveException {
+        System.setProperty(ArchiveLimits.PROPERTY_MAX_ENTRY_SIZE, "1");
+        try {
+            // The declared sizes are not checked, so the limit is only exceeded when the content is inflated
+            List<Artifact> ymlFiles = new YamlExtractor().extract(CsarTest.SD_WAN_CSAR_FILE.getContent(),
+                    CsarTest.SD_WAN_CSAR_FILE.getName(), "v1", false);
+            UncheckedArchiveException e =
+                    assertThrows(UncheckedArchiveException.class, () -> ymlFiles.get(0).getContent());
+            assertTrue(e.getCause().getMessage().contains("exceeds the maximum uncompressed size of 1 bytes"));
+        } finally {
+            System.clearProperty(ArchiveLimits.PROPERTY_MAX_ENTRY_SIZE);
+        }
+    }
+
     /**
      * Call the extractor with the specified arguments and assert that an exception is thrown.
      *
@@ -50,7 +50,7 @@ public class TestVnfVendorImageExtractor {
     @Test
     public void createVendorImageMappingsNullCsarSupplied() throws ToscaToCatalogException, IOException {
         assertThrows(NullPointerException.class, () -> {
-            new VnfVendorImageExtractor().extract(null);
+            new VnfVendorImageExtractor().extract((byte[]) null);
         });
     }
 
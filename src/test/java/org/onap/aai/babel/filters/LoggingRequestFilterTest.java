@@ -0,0 +1,126 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.filters;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.core.MediaType;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+public class LoggingRequestFilterTest {
+
+    private static final byte[] PAYLOAD = "{\"csar\":\"UEsDBAoAAAAAA\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private HttpServletRequest servletRequest;
+
+    @Mock
+    private ContainerRequestContext requestContext;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(requestContext.getEntityStream()).thenReturn(new ByteArrayInputStream(PAYLOAD));
+        when(requestContext.getMediaType()).thenReturn(MediaType.APPLICATION_JSON_TYPE);
+    }
+
+    @Test
+    public void testPayloadIsNotReadWhenLoggingIsOff() throws IOException {
+        LoggingRequestFilter filter = new LoggingRequestFilter(servletRequest, "off", 1024, 100);
+
+        assertEquals("", filter.describePayload(requestContext));
+        verify(requestContext, never()).getEntityStream();
+        verify(requestContext, never()).setEntityStream(any());
+    }
+
+    @Test
+    public void testCappedPayloadLogging() throws IOException {
+        LoggingRequestFilter filter = new LoggingRequestFilter(servletRequest, "Capped", 8, 100);
+
+        assertEquals(", payload (first 8 bytes): {\"csar\":", filter.describePayload(requestContext));
+        assertArrayEquals(PAYLOAD, readReplacedEntityStream());
+    }
+
+    @Test
+    public void testCappedBinaryPayloadIsHexEncoded() throws IOException {
+        when(requestContext.getMediaType()).thenReturn(MediaType.APPLICATION_OCTET_STREAM_TYPE);
+        when(requestContext.getEntityStream()).thenReturn(new ByteArrayInputStream(new byte[] {0x50, 0x4b, 3, 4, 10}));
+        LoggingRequestFilter filter = new LoggingRequestFilter(servletRequest, "capped", 4, 100);
+
+        assertEquals(", payload (first 4 bytes, hex): 504b0304", filter.describePayload(requestContext));
+    }
+
+    @Test
+    public void testCappedTextPayloadControlCharactersAreEscaped() throws IOException {
+        when(requestContext.getEntityStream())
+                .thenReturn(new ByteArrayInputStream("{\n\"a\"}".getBytes(StandardCharsets.UTF_8)));
+        LoggingRequestFilter filter = new LoggingRequestFilter(servletRequest, "capped", 1024, 100);
+
+        assertEquals(", payload (first 6 bytes): {\\u000a\"a\"}", filter.describePayload(requestContext));
+    }
+
+    @Test
+    public void testSampledPayloadLogging() throws IOException {
+        LoggingRequestFilter filter = new LoggingRequestFilter(servletRequest, "sampled", 8, 2);
+
+        assertEquals(", payload (first 8 bytes): {\"csar\":", filter.describePayload(requestContext));
+        assertEquals("", filter.describePayload(requestContext));
+        verify(requestContext, times(1)).setEntityStream(any());
+    }
+
+    @Test
+    public void testHashPayloadLoggingPreservesPayload() throws IOException {
+        LoggingRequestFilter filter = new LoggingRequestFilter(servletRequest, "hash", 8, 100);
+
+        assertEquals("", filter.describePayload(requestContext));
+        assertArrayEquals(PAYLOAD, readReplacedEntityStream());
+    }
+
+    @Test
+    public void testUnknownPolicy() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LoggingRequestFilter(servletRequest, "everything", 1024, 100));
+    }
+
+    private byte[] readReplacedEntityStream() throws IOException {
+        ArgumentCaptor<InputStream> captor = ArgumentCaptor.forClass(InputStream.class);
+        verify(requestContext).setEntityStream(captor.capture());
+        try (InputStream entityStream = captor.getValue()) {
+            return entityStream.readAllBytes();
+        }
+    }
+}
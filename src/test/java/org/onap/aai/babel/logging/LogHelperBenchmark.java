@@ -0,0 +1,69 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lookup of the calling method at the stack depths of a request handled by Spring, Jersey and Jetty.
+ * {@link #getStackTrace()} is the implementation of {@link LogHelper#getCallerMethodName(int)} before it used a
+ * StackWalker, which captured the whole stack; {@link #stackWalker()} is the current implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LogHelperBenchmark {
+
+    @Param({"20", "100"})
+    private int stackDepth;
+
+    @Benchmark
+    public String getStackTrace() {
+        return atDepth(stackDepth, () -> {
+            StackTraceElement callingMethod = Thread.currentThread().getStackTrace()[2];
+            return callingMethod.getClassName() + "#" + callingMethod.getMethodName();
+        });
+    }
+
+    @Benchmark
+    public String stackWalker() {
+        return atDepth(stackDepth, () -> LogHelper.getCallerMethodName(0));
+    }
+
+    private static String atDepth(int depth, Supplier<String> callerLookup) {
+        return depth == 0 ? callerLookup.get() : atDepth(depth - 1, callerLookup);
+    }
+}
@@ -25,6 +25,8 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
 import com.att.eelf.configuration.EELFLogger.Level;
@@ -45,6 +47,7 @@ import org.onap.aai.babel.logging.LogHelper.TriConsumer;
 import org.onap.aai.cl.api.LogFields;
 import org.onap.aai.cl.api.Logger;
 import org.onap.aai.cl.mdc.MdcOverride;
+import org.slf4j.MDC;
 
 /**
  * Simple test to log each of the validation messages in turn.
@@ -101,6 +104,18 @@ public class TestApplicationLogger {
      * @throws IOException
      *             if the log file cannot be read
      */
+    @Test
+    public void testCallerMethodName() {
+        final String thisMethod = TestApplicationLogger.class.getName() + "#testCallerMethodName";
+        assertThat(LogHelper.getCallerMethodName(0), is(thisMethod));
+        assertThat(getCallerOfThisMethod(), is(thisMethod));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> LogHelper.getCallerMethodName(Integer.MAX_VALUE));
+    }
+
+    private String getCallerOfThisMethod() {
+        return LogHelper.getCallerMethodName(1);
+    }
+
     @Test
     public void logDebugMessages() throws IOException {
         LogReader reader = new LogReader(LogHelper.getLogDirectory(), "debug");
@@ -166,6 +181,44 @@ public class TestApplicationLogger {
         assertThat("audit message content", str, containsString("app-id"));
     }
 
+    /**
+     * Check that the audit timing of a request is not affected by a request started on another thread.
+     *
+     * @throws Exception
+     *             if the other thread fails
+     */
+    @Test
+    public void logAuditTimingIsPerThread() throws Exception {
+        LogHelper logger = LogHelper.INSTANCE;
+        logger.startAudit(null, null);
+
+        Thread.sleep(50);
+        Thread otherRequest = new Thread(() -> logger.startAudit(null, null));
+        otherRequest.start();
+        otherRequest.join();
+
+        logger.logAuditSuccess("first");
+        assertThat(Long.parseLong(MDC.get(MdcParameter.ELAPSED_TIME.value())), is(greaterThanOrEqualTo(50L)));
+    }
+
+    /**
+     * Check that the audit stopwatch of a request is not reused by a later audit message on the same thread, which
+     * instead measures from the time it is logged.
+     *
+     * @throws InterruptedException
+     *             if the test is interrupted
+     */
+    @Test
+    public void logAuditStopwatchIsNotReused() throws InterruptedException {
+        LogHelper logger = LogHelper.INSTANCE;
+        logger.startAudit(null, null);
+        logger.logAuditSuccess("first");
+
+        Thread.sleep(50);
+        logger.logAuditError(new Exception("second"));
+        assertThat(Long.parseLong(MDC.get(MdcParameter.ELAPSED_TIME.value())), is(lessThan(50L)));
+    }
+
     /**
      * Check logAudit with no HTTP headers.
      *
@@ -0,0 +1,184 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.logging;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link MeteredAsyncAppender} and {@link LogAppenderMetrics}.
+ */
+public class TestMeteredAsyncAppender {
+
+    private LoggerContext loggerContext;
+    private Logger logger;
+    private BlockingAppender blockingAppender;
+    private MeteredAsyncAppender appender;
+
+    /**
+     * An appender which holds up the asynchronous worker until it is released.
+     */
+    private static class BlockingAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch received = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            received.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @BeforeEach
+    public void setup() {
+        loggerContext = new LoggerContext();
+        logger = loggerContext.getLogger("test");
+        blockingAppender = new BlockingAppender();
+        blockingAppender.setContext(loggerContext);
+        blockingAppender.start();
+
+        appender = new MeteredAsyncAppender();
+        appender.setContext(loggerContext);
+        appender.setName("testAppender");
+        appender.setQueueSize(5);
+        appender.addAppender(blockingAppender);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        blockingAppender.release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    public void testEventsAreDiscardedWhenQueueIsFull() throws InterruptedException {
+        appender.setNeverBlock(true);
+        startAndBlockWorker();
+
+        // The default threshold (queue size / 5) allows the queue to fill before INFO events are discarded
+        for (int i = 0; i < 5; i++) {
+            appender.doAppend(createEvent(Level.INFO));
+        }
+        assertThat(appender.getDiscardedCount(), is(0L));
+        assertThat(appender.getNumberOfElementsInQueue(), is(5));
+
+        appender.doAppend(createEvent(Level.INFO));
+        appender.doAppend(createEvent(Level.ERROR));
+        assertThat(appender.getDiscardedCount(), is(2L));
+    }
+
+    @Test
+    public void testConcurrentlyDroppedEventsAreCounted() throws InterruptedException {
+        appender.setNeverBlock(true);
+        appender.setDiscardingThreshold(0);
+        startAndBlockWorker();
+
+        int threads = 8;
+        int eventsPerThread = 100;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> loggingThreads = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int j = 0; j < eventsPerThread; j++) {
+                    appender.doAppend(createEvent(Level.ERROR));
+                }
+            });
+            thread.start();
+            loggingThreads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : loggingThreads) {
+            thread.join();
+        }
+
+        assertThat(appender.getNumberOfElementsInQueue() + appender.getDiscardedCount(),
+                is((long) threads * eventsPerThread));
+    }
+
+    @Test
+    public void testDiscardableEventsAreSampled() throws InterruptedException {
+        appender.setDiscardingThreshold(3);
+        appender.setSampleRate(2);
+        startAndBlockWorker();
+
+        for (int i = 0; i < 7; i++) {
+            appender.doAppend(createEvent(Level.DEBUG));
+        }
+        assertThat(appender.getNumberOfElementsInQueue(), is(5));
+        assertThat(appender.getDiscardedCount(), is(2L));
+    }
+
+    @Test
+    public void testMetrics() throws InterruptedException {
+        appender.setNeverBlock(true);
+        startAndBlockWorker();
+        logger.addAppender(appender);
+        for (int i = 0; i < 7; i++) {
+            appender.doAppend(createEvent(Level.INFO));
+        }
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new LogAppenderMetrics().bindTo(registry, loggerContext);
+
+        assertThat(registry.get(LogAppenderMetrics.METRIC_PREFIX + ".depth").tag("appender", "testAppender").gauge()
+                .value(), is(5.0));
+        assertThat(registry.get(LogAppenderMetrics.METRIC_PREFIX + ".remaining").gauge().value(), is(0.0));
+        assertThat(registry.get(LogAppenderMetrics.METRIC_PREFIX + ".discarded").functionCounter().count(), is(2.0));
+    }
+
+    /**
+     * Start the appender and wait until its worker is held up by the first event, leaving the queue empty.
+     */
+    private void startAndBlockWorker() throws InterruptedException {
+        appender.start();
+        appender.doAppend(createEvent(Level.ERROR));
+        assertThat(blockingAppender.received.await(10, TimeUnit.SECONDS), is(true));
+    }
+
+    private ILoggingEvent createEvent(Level level) {
+        return new LoggingEvent(Logger.class.getName(), logger, level, "message", null, null);
+    }
+}
@@ -46,6 +46,7 @@ import org.onap.aai.babel.xml.generator.model.Service;
 import org.onap.aai.babel.xml.generator.model.WidgetType;
 import org.onap.aai.babel.xml.generator.types.ModelType;
 import org.onap.sdc.tosca.parser.api.ISdcCsarHelper;
+import org.onap.sdc.tosca.parser.impl.SdcPropertyNames;
 import org.onap.sdc.toscaparser.api.Group;
 import org.onap.sdc.toscaparser.api.NodeTemplate;
 import org.onap.sdc.toscaparser.api.SubstitutionMappings;
@@ -238,6 +239,57 @@ public class TestArtifactGeneratorToscaParser {
         assertThat(resource.getModelNameVersionId(), is(equalTo(TEST_UUID)));
     }
 
+    /**
+     * Test that the VfModule groups are selected by (normalised) component instance name, and that the service level
+     * groups are read only once for all of the VF node templates.
+     */
+    @Test
+    public void testVfModuleGroupsAreIndexedByInstanceName() {
+        final String vfModuleType = "org.openecomp.groups.VfModule";
+        List<Group> groups = Arrays.asList(mockGroup("vf1..Module1..module-0", vfModuleType),
+                mockGroup("vf10..Module1..module-0", vfModuleType),
+                mockGroup("vf1..Module2..module-1", vfModuleType),
+                mockGroup("vf1..Group..group-0", "org.openecomp.groups.heat.HeatStack"));
+        ISdcCsarHelper helper = Mockito.mock(ISdcCsarHelper.class);
+        Mockito.when(helper.getGroupsOfTopologyTemplate()).thenReturn(groups);
+
+        ArtifactGeneratorToscaParser parser = new ArtifactGeneratorToscaParser(helper);
+        assertThat(parser.getVfModuleGroups(buildNodeTemplate("vf1", "VF")),
+                is(Arrays.asList(groups.get(0), groups.get(2))));
+        assertThat(parser.getVfModuleGroups(buildNodeTemplate("vf10", "VF")), is(Arrays.asList(groups.get(1))));
+        assertThat(parser.getVfModuleGroups(buildNodeTemplate("vf2", "VF")).isEmpty(), is(true));
+        Mockito.verify(helper, Mockito.times(1)).getGroupsOfTopologyTemplate();
+    }
+
+    /**
+     * Test that the members of a VF Module are returned in the order of the substitution mappings' Node Templates.
+     */
+    @Test
+    public void testVfModuleMembers() {
+        ArrayList<NodeTemplate> nodeTemplates = new ArrayList<>(Arrays.asList(buildNodeTemplate("vserver", "VFC"),
+                buildNodeTemplate("port", "CP"), buildNodeTemplate("volume", "BlockStorage")));
+        Group vfModule = Mockito.mock(Group.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(vfModule.getMetadata().getValue(SdcPropertyNames.PROPERTY_NAME_VFMODULEMODELINVARIANTUUID))
+                .thenReturn(TEST_UUID);
+        Mockito.when(vfModule.getMembers())
+                .thenReturn(new ArrayList<>(Arrays.asList("volume", "unknown", "vserver", "volume")));
+        SubstitutionMappings sm = Mockito.mock(SubstitutionMappings.class);
+        Mockito.when(sm.getGroups()).thenReturn(new ArrayList<>(Arrays.asList(vfModule)));
+        Mockito.when(sm.getNodeTemplates()).thenReturn(nodeTemplates);
+
+        ArtifactGeneratorToscaParser parser = new ArtifactGeneratorToscaParser(Mockito.mock(ISdcCsarHelper.class));
+        assertThat(parser.getVfModuleMembers(sm, TEST_UUID),
+                is(Arrays.asList(nodeTemplates.get(0), nodeTemplates.get(2))));
+        assertThat(parser.getVfModuleMembers(sm, "other").isEmpty(), is(true));
+    }
+
+    private Group mockGroup(String name, String type) {
+        Group group = Mockito.mock(Group.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(group.getName()).thenReturn(name);
+        Mockito.when(group.getTypeDefinition().getType()).thenReturn(type);
+        return group;
+    }
+
     /**
      * Create a NodeTemplate for unit testing purposes. In production code this object would only be created by the
      * sdc-tosca parser.
@@ -0,0 +1,133 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.parser;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.onap.aai.babel.util.ArtifactTestUtils;
+import org.onap.aai.babel.util.Resources;
+import org.onap.aai.babel.xml.generator.data.WidgetConfigurationUtil;
+import org.onap.aai.babel.xml.generator.model.WidgetType;
+
+/**
+ * Tests {@link ToscaMappingsLoader}.
+ */
+public class TestToscaMappingsLoader {
+
+    @TempDir
+    Path tempDir;
+
+    private String configLocation;
+
+    /**
+     * Copy the test mappings to a file which the tests can modify.
+     *
+     * @throws IOException
+     *             if the mappings cannot be copied
+     */
+    @BeforeEach
+    public void setup() throws IOException {
+        Path mappings = tempDir.resolve(Resources.TOSCA_MAPPING_CONFIG);
+        Files.copy(Paths.get(new ArtifactTestUtils().getResourcePath(Resources.TOSCA_MAPPING_CONFIG)), mappings);
+        configLocation = mappings.toString();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        ToscaMappingsLoader.stopWatching();
+        new ArtifactTestUtils().loadWidgetMappings();
+    }
+
+    @Test
+    public void testMappingsAreLoadedOnce() throws IOException {
+        ToscaMappingsLoader.ensureLoaded(configLocation);
+        assertThat(WidgetConfigurationUtil.getConfigurationSource(), is(configLocation));
+        WidgetType widgetType = WidgetType.valueOf("VF");
+
+        ToscaMappingsLoader.ensureLoaded(configLocation);
+        assertThat(WidgetType.valueOf("VF"), is(sameInstance(widgetType)));
+    }
+
+    @Test
+    public void testMappingsAreReloadedAfterDirectChange() throws IOException {
+        ToscaMappingsLoader.ensureLoaded(configLocation);
+        WidgetType.clearElements();
+        assertThat(WidgetConfigurationUtil.getConfigurationSource(), is((String) null));
+
+        ToscaMappingsLoader.ensureLoaded(configLocation);
+        assertThat(WidgetConfigurationUtil.getConfigurationSource(), is(configLocation));
+        assertThat(WidgetType.valueOf("VF").toString(), is("VF"));
+    }
+
+    @Test
+    public void testReload() throws IOException {
+        ToscaMappingsLoader.ensureLoaded(configLocation);
+        WidgetType widgetType = WidgetType.valueOf("VF");
+
+        ToscaMappingsLoader.reload(configLocation);
+        assertThat(WidgetType.valueOf("VF"), is(not(sameInstance(widgetType))));
+        assertThat(WidgetConfigurationUtil.getConfigurationSource(), is(configLocation));
+    }
+
+    @Test
+    public void testFailedReloadRetainsConfiguration() throws IOException {
+        ToscaMappingsLoader.ensureLoaded(configLocation);
+        WidgetType widgetType = WidgetType.valueOf("VF");
+
+        Files.writeString(Paths.get(configLocation), "{ not valid JSON");
+        ToscaMappingsLoader.reload(configLocation);
+        assertThat(WidgetType.valueOf("VF"), is(sameInstance(widgetType)));
+        assertThat(WidgetConfigurationUtil.getConfigurationSource(), is(configLocation));
+    }
+
+    /**
+     * Test that the watcher reloads the mappings when the file is modified.
+     *
+     * @throws IOException
+     *             if the mappings file cannot be modified
+     * @throws InterruptedException
+     *             if the test is interrupted
+     */
+    @Test
+    public void testChangedFileIsReloaded() throws IOException, InterruptedException {
+        ToscaMappingsLoader.ensureLoaded(configLocation);
+        WidgetType widgetType = WidgetType.valueOf("VF");
+
+        Path mappings = Paths.get(configLocation);
+        mappings.toFile().setLastModified(mappings.toFile().lastModified() + 10_000);
+        for (int i = 0; i < 50 && WidgetType.valueOf("VF") == widgetType; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(WidgetType.valueOf("VF"), is(not(sameInstance(widgetType))));
+    }
+}
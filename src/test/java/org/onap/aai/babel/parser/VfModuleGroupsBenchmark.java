@@ -0,0 +1,150 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.parser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.mockito.Mockito;
+import org.onap.sdc.tosca.parser.api.ISdcCsarHelper;
+import org.onap.sdc.tosca.parser.utils.SdcToscaUtility;
+import org.onap.sdc.toscaparser.api.Group;
+import org.onap.sdc.toscaparser.api.NodeTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the selection of the VfModule groups of every VF of a synthetic service. Before the groups were indexed,
+ * all of the service level groups were filtered for each VF ({@link #filterGroupsForEachVf(Blackhole)}); now one
+ * index is built per parser (i.e. per request) and each VF is a single lookup ({@link #indexGroups(Blackhole)}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class VfModuleGroupsBenchmark {
+
+    private static final String VF_MODULE_GROUP_TYPE = "org.openecomp.groups.VfModule";
+
+    @Param({"100"})
+    private int vfCount;
+
+    @Param({"5"})
+    private int groupsPerVf;
+
+    private ISdcCsarHelper csarHelper;
+    private List<NodeTemplate> vfNodeTemplates;
+
+    @Setup
+    public void setup() {
+        List<Group> groups = new ArrayList<>();
+        vfNodeTemplates = new ArrayList<>();
+        for (int vf = 0; vf < vfCount; vf++) {
+            String instanceName = "vf" + vf;
+            vfNodeTemplates.add(buildNodeTemplate(instanceName, "VF"));
+            for (int module = 0; module < groupsPerVf; module++) {
+                groups.add(buildGroup(instanceName + "..Module" + module + "..module-" + module,
+                        VF_MODULE_GROUP_TYPE));
+            }
+            groups.add(buildGroup(instanceName + "..Group..group-0", "org.openecomp.groups.heat.HeatStack"));
+        }
+        csarHelper = Mockito.mock(ISdcCsarHelper.class);
+        Mockito.when(csarHelper.getGroupsOfTopologyTemplate()).thenReturn(groups);
+    }
+
+    /**
+     * The implementation of getVfModuleGroups before the groups were indexed.
+     */
+    @Benchmark
+    public void filterGroupsForEachVf(Blackhole blackhole) {
+        for (NodeTemplate serviceVfNode : vfNodeTemplates) {
+            String instanceName = SdcToscaUtility.normaliseComponentInstanceName(serviceVfNode.getName());
+            blackhole.consume(ToscaParser.getServiceLevelGroups(csarHelper).stream()
+                    .filter(group -> VF_MODULE_GROUP_TYPE.equals(group.getTypeDefinition().getType())
+                            && group.getName().startsWith(instanceName))
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    @Benchmark
+    public void indexGroups(Blackhole blackhole) {
+        ArtifactGeneratorToscaParser parser = new ArtifactGeneratorToscaParser(csarHelper);
+        for (NodeTemplate serviceVfNode : vfNodeTemplates) {
+            blackhole.consume(parser.getVfModuleGroups(serviceVfNode));
+        }
+    }
+
+    private NodeTemplate buildNodeTemplate(String name, String type) {
+        LinkedHashMap<String, Object> nodeTemplateMap = new LinkedHashMap<>();
+        nodeTemplateMap.put(name, buildMap("type", type));
+        LinkedHashMap<String, Object> customDefs = buildCustomDefs();
+        customDefs.put("attributes", null);
+        customDefs.put("requirements", null);
+        customDefs.put("capabilities", null);
+        customDefs.put("artifacts", null);
+        nodeTemplateMap.put(type, customDefs);
+        return new NodeTemplate(name, nodeTemplateMap, nodeTemplateMap, null, null);
+    }
+
+    private Group buildGroup(String name, String type) {
+        LinkedHashMap<String, Object> template = new LinkedHashMap<>();
+        template.put("type", type);
+        template.put("metadata", new LinkedHashMap<>());
+        template.put("properties", buildMap("UUID", "urn:uuid:" + name));
+        LinkedHashMap<String, Object> customDefMap = buildMap(name, template);
+        LinkedHashMap<String, Object> customDefs = buildCustomDefs();
+        customDefs.put("members", null);
+        customDefMap.put(type, customDefs);
+        return new Group(name, template, null, customDefMap);
+    }
+
+    private LinkedHashMap<String, Object> buildCustomDefs() {
+        LinkedHashMap<String, Object> customDefs = new LinkedHashMap<>();
+        customDefs.put("derived_from", null);
+        customDefs.put("metadata", null);
+        customDefs.put("version", null);
+        customDefs.put("description", null);
+        customDefs.put("interfaces", null);
+        customDefs.put("properties", buildMap("UUID", buildMap("type", "java.lang.String")));
+        return customDefs;
+    }
+
+    private LinkedHashMap<String, Object> buildMap(String key, Object value) {
+        LinkedHashMap<String, Object> map = new LinkedHashMap<>();
+        map.put(key, value);
+        return map;
+    }
+}
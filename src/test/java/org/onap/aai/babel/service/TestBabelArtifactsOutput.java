@@ -0,0 +1,70 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.google.gson.Gson;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.onap.aai.babel.config.MappingConfig;
+import org.onap.aai.babel.service.data.BabelArtifact;
+import org.onap.aai.babel.service.data.BabelArtifact.ArtifactType;
+
+/**
+ * Tests {@link BabelArtifactsOutput}.
+ */
+public class TestBabelArtifactsOutput {
+
+    private final Gson gson = new MappingConfig().gson();
+
+    @Test
+    public void testStreamedOutputMatchesSerializedList() throws IOException {
+        List<BabelArtifact> artifacts = Arrays.asList(new BabelArtifact("model1", ArtifactType.MODEL, "<model/>"),
+                new BabelArtifact("catalog", ArtifactType.VNFCATALOG, "[{\"vendor\":\"é\"}]"));
+        assertThat(write(new BabelArtifactsOutput(gson, artifacts)), is(gson.toJson(artifacts)));
+    }
+
+    @Test
+    public void testEmptyList() throws IOException {
+        assertThat(write(new BabelArtifactsOutput(gson, Collections.emptyList())), is("[]"));
+    }
+
+    @Test
+    public void testSummary() {
+        BabelArtifactsOutput output = new BabelArtifactsOutput(gson,
+                Collections.singletonList(new BabelArtifact("model1", ArtifactType.MODEL, "<model/>")));
+        assertThat(output.toString(), is("Generated 1 artifacts"));
+    }
+
+    private String write(BabelArtifactsOutput output) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        output.write(stream);
+        return stream.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -75,7 +75,7 @@ public class TestCsarToXmlConverter {
     @Test
     public void testNullArtifactSupplied() throws CsarConverterException {
         assertThrows(NullPointerException.class, () -> {
-            converter.generateXmlFromCsar(null, null, null);
+            converter.generateXmlFromCsar((byte[]) null, null, null);
         });
     }
 
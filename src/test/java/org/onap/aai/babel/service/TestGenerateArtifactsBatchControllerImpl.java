@@ -0,0 +1,159 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.google.gson.Gson;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.aai.babel.config.MappingConfig;
+import org.onap.aai.babel.service.data.BabelArtifact;
+import org.onap.aai.babel.service.data.BabelBatchResult;
+import org.onap.aai.babel.service.data.BabelRequest;
+import org.onap.aai.babel.testdata.CsarTest;
+import org.onap.aai.babel.util.ArtifactTestUtils;
+import org.slf4j.MDC;
+
+/**
+ * Direct invocation of the batch generate artifacts service implementation.
+ */
+public class TestGenerateArtifactsBatchControllerImpl {
+
+    private final Gson gson = new MappingConfig().gson();
+    private GenerateArtifactsBatchControllerImpl controller;
+
+    @BeforeEach
+    public void setup() {
+        new ArtifactTestUtils().setGeneratorSystemProperties();
+        controller = new GenerateArtifactsBatchControllerImpl(gson, new GenerateArtifactsControllerImpl(gson,
+                new GeneratedArtifactCache(0, 0, new SimpleMeterRegistry())), 2, 3, 1024 * 1024);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        controller.shutdown();
+    }
+
+    /**
+     * Test that each entry of a batch has its own result, so that a failing entry does not affect the others.
+     *
+     * @throws IOException
+     *             if the resource cannot be loaded
+     * @throws URISyntaxException
+     *             if the URI cannot be created
+     */
+    @Test
+    public void testBatchWithFailingEntries() throws IOException, URISyntaxException {
+        BabelRequest invalidCsar = new BabelRequest();
+        invalidCsar.setArtifactName("hello");
+        invalidCsar.setArtifactVersion("1.0");
+        invalidCsar.setCsar("xxxx");
+
+        BabelRequest missingName = new BabelRequest();
+        missingName.setArtifactVersion("1.0");
+        missingName.setCsar("");
+
+        Response response = controller
+                .generateArtifacts(Arrays.asList(CsarTest.VNF_VENDOR_CSAR.getBabelRequest(), invalidCsar, missingName));
+        assertThat(response.getStatus(), is(Response.Status.OK.getStatusCode()));
+
+        BabelBatchResult[] results =
+                gson.fromJson(new ArtifactTestUtils().getResponseEntity(response), BabelBatchResult[].class);
+        assertThat(results.length, is(3));
+
+        assertThat(results[0].getStatus(), is(Response.Status.OK.getStatusCode()));
+        assertThat(gson.toJson(results[0].getArtifacts()),
+                is(new ArtifactTestUtils().getResponseJson("response.json")));
+
+        assertThat(results[1].getStatus(), is(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode()));
+        assertThat(results[1].getArtifactName(), is("hello"));
+        assertThat(results[1].getError(), is("Error converting CSAR artifact to XML model."));
+
+        assertThat(results[2].getStatus(), is(Response.Status.BAD_REQUEST.getStatusCode()));
+        assertThat(results[2].getError(), is("No artifact name attribute found in the request body."));
+        assertThat(response.getEntity().toString(), is("Generated 3 artifacts for 3 requests (2 failed)"));
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        Response response = controller.generateArtifacts(Collections.emptyList());
+        assertThat(response.getStatus(), is(Response.Status.BAD_REQUEST.getStatusCode()));
+        assertThat(response.getEntity(), is("No requests found in the batch."));
+    }
+
+    @Test
+    public void testOversizedBatch() {
+        Response response = controller.generateArtifacts(Collections.nCopies(4, new BabelRequest()));
+        assertThat(response.getStatus(), is(Response.Status.BAD_REQUEST.getStatusCode()));
+        assertThat(response.getEntity(), is("The batch contains more than 3 requests."));
+    }
+
+    @Test
+    public void testBatchExceedingMaximumBytes() {
+        BabelRequest request = new BabelRequest();
+        request.setCsar("x".repeat(600 * 1024));
+
+        Response response = controller.generateArtifacts(Arrays.asList(request, request));
+        assertThat(response.getStatus(), is(Response.Status.BAD_REQUEST.getStatusCode()));
+        assertThat(response.getEntity(),
+                is("The CSARs in the batch exceed the maximum total size of 1048576 bytes."));
+    }
+
+    @Test
+    public void testLoggingContextIsPropagated() throws IOException {
+        GenerateArtifactsControllerImpl generateArtifactsController = new GenerateArtifactsControllerImpl(gson,
+                new GeneratedArtifactCache(0, 0, new SimpleMeterRegistry())) {
+            @Override
+            List<BabelArtifact> generateArtifactList(byte[] csarFile, String artifactName,
+                    String artifactVersion) {
+                return Collections.singletonList(new BabelArtifact(MDC.get("RequestId"), null, null));
+            }
+        };
+        GenerateArtifactsBatchControllerImpl batchController =
+                new GenerateArtifactsBatchControllerImpl(gson, generateArtifactsController, 1, 1, 1024);
+        BabelRequest request = new BabelRequest();
+        request.setArtifactName("hello");
+        request.setArtifactVersion("1.0");
+        request.setCsar("");
+
+        MDC.put("RequestId", "batch-request-id");
+        try {
+            Response response = batchController.generateArtifacts(Collections.singletonList(request));
+            BabelBatchResult[] results =
+                    gson.fromJson(new ArtifactTestUtils().getResponseEntity(response), BabelBatchResult[].class);
+            assertThat(results[0].getArtifacts().get(0).getName(), is("batch-request-id"));
+        } finally {
+            MDC.remove("RequestId");
+            batchController.shutdown();
+        }
+    }
+}
@@ -26,6 +26,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 
 import com.google.gson.Gson;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -42,6 +43,7 @@ import jakarta.ws.rs.core.UriInfo;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.onap.aai.babel.csar.extractor.ArchiveLimits;
 import org.onap.aai.babel.service.data.BabelRequest;
 import org.onap.aai.babel.testdata.CsarTest;
 import org.onap.aai.babel.util.ArtifactTestUtils;
@@ -63,6 +65,9 @@ public class TestGenerateArtifactsServiceImpl {
     @Autowired
     private Gson gson;
 
+    @Autowired
+    private GeneratedArtifactCache artifactCache;
+
     @BeforeAll
     public static void setup() {
         new ArtifactTestUtils().setGeneratorSystemProperties();
@@ -81,7 +86,29 @@ public class TestGenerateArtifactsServiceImpl {
     public void testGenerateArtifacts() throws URISyntaxException, IOException {
         Response response = processJsonRequest(CsarTest.VNF_VENDOR_CSAR);
         assertThat(response.toString(), response.getStatus(), is(Response.Status.OK.getStatusCode()));
-        assertThat(response.getEntity(), is(getResponseJson("response.json")));
+        assertThat(getResponseEntity(response), is(getResponseJson("response.json")));
+    }
+
+    /**
+     * Test that a repeated request for the same CSAR, name and version is answered from the cache.
+     *
+     * @throws URISyntaxException
+     *             if the URI cannot be created
+     * @throws IOException
+     *             if the resource cannot be loaded
+     */
+    @Test
+    public void testRepeatedRequestIsCached() throws URISyntaxException, IOException {
+        // The cache is keyed on the mappings version, so ensure that the mappings are loaded before the first request
+        processJsonRequest(CsarTest.VNF_VENDOR_CSAR);
+        artifactCache.clear();
+        Response response = processJsonRequest(CsarTest.VNF_VENDOR_CSAR);
+        assertThat(artifactCache.size(), is(1));
+
+        Response cachedResponse = processJsonRequest(CsarTest.VNF_VENDOR_CSAR);
+        assertThat(artifactCache.size(), is(1));
+        assertThat(cachedResponse.getStatus(), is(Response.Status.OK.getStatusCode()));
+        assertThat(getResponseEntity(cachedResponse), is(getResponseEntity(response)));
     }
 
     /**
@@ -96,7 +123,7 @@ public class TestGenerateArtifactsServiceImpl {
     public void testGenerateArtifactsWithoutRequestId() throws URISyntaxException, IOException {
         Response response = invokeService(CsarTest.VNF_VENDOR_CSAR.getBabelRequest(), Optional.empty());
         assertThat(response.toString(), response.getStatus(), is(Response.Status.OK.getStatusCode()));
-        assertThat(response.getEntity(), is(getResponseJson("response.json")));
+        assertThat(getResponseEntity(response), is(getResponseJson("response.json")));
     }
 
     /**
@@ -112,7 +139,7 @@ public class TestGenerateArtifactsServiceImpl {
         Response response = invokeService(CsarTest.VNF_VENDOR_CSAR.getBabelRequestWithArtifactVersion("1"),
         		Optional.of("transaction-id"));
         assertThat(response.toString(), response.getStatus(), is(Response.Status.OK.getStatusCode()));
-        assertThat(response.getEntity(), is(getResponseJson("response.json")));
+        assertThat(getResponseEntity(response), is(getResponseJson("response.json")));
     }
 
     /**
@@ -128,7 +155,7 @@ public class TestGenerateArtifactsServiceImpl {
         Response response = invokeService(CsarTest.VNF_VENDOR_CSAR.getBabelRequestWithArtifactVersion("a"),
         		Optional.of("transaction-id"));
         assertThat(response.toString(), response.getStatus(), is(Response.Status.OK.getStatusCode()));
-        assertThat(response.getEntity(), is(getResponseJson("response.json")));
+        assertThat(getResponseEntity(response), is(getResponseJson("response.json")));
     }
 
 
@@ -145,7 +172,7 @@ public class TestGenerateArtifactsServiceImpl {
         Response response = invokeService(CsarTest.VNF_VENDOR_CSAR.getBabelRequestWithArtifactVersion("0.1"),
         		Optional.of("transaction-id"));
         assertThat(response.toString(), response.getStatus(), is(Response.Status.OK.getStatusCode()));
-        assertThat(response.getEntity(), is(getResponseJson("responseWithVersionLessThan1.json")));
+        assertThat(getResponseEntity(response), is(getResponseJson("responseWithVersionLessThan1.json")));
     }
 
 
@@ -161,7 +188,7 @@ public class TestGenerateArtifactsServiceImpl {
     public void testGenerateArtifactsWithoutVnfConfiguration() throws IOException, URISyntaxException {
         Response response = processJsonRequest(CsarTest.NO_VNF_CONFIG_CSAR);
         assertThat(response.getStatus(), is(Response.Status.OK.getStatusCode()));
-        assertThat(response.getEntity(), is(getResponseJson("validNoVnfConfigurationResponse.json")));
+        assertThat(getResponseEntity(response), is(getResponseJson("validNoVnfConfigurationResponse.json")));
     }
 
     /**
@@ -220,6 +247,82 @@ public class TestGenerateArtifactsServiceImpl {
         assertThat(response.getEntity(), is("No csar attribute found in the request body."));
     }
 
+    /**
+     * Test with a valid binary request (raw CSAR content and query parameters).
+     *
+     * @throws URISyntaxException
+     *             if the URI cannot be created
+     * @throws IOException
+     *             if the resource cannot be loaded
+     */
+    @Test
+    public void testGenerateArtifactsFromBinaryCsar() throws URISyntaxException, IOException {
+        Response response = invokeBinaryService(CsarTest.VNF_VENDOR_CSAR.getName(), "1.0",
+                CsarTest.VNF_VENDOR_CSAR.getContent());
+        assertThat(response.toString(), response.getStatus(), is(Response.Status.OK.getStatusCode()));
+        assertThat(getResponseEntity(response), is(getResponseJson("response.json")));
+    }
+
+    /**
+     * Test that a CSAR which would inflate beyond the configured limits is rejected as a bad request.
+     *
+     * @throws IOException
+     *             if the resource cannot be loaded
+     */
+    @Test
+    public void testCsarExceedingArchiveLimits() throws IOException {
+        System.setProperty(ArchiveLimits.PROPERTY_MAX_ENTRY_SIZE, "1");
+        try {
+            Response response =
+                    invokeBinaryService("archive-limits.csar", "1.0", CsarTest.VNF_VENDOR_CSAR.getContent());
+            assertThat(response.getStatus(), is(Response.Status.BAD_REQUEST.getStatusCode()));
+            assertThat(response.getEntity().toString(),
+                    containsString("exceeds the maximum uncompressed size of 1 bytes"));
+        } finally {
+            System.clearProperty(ArchiveLimits.PROPERTY_MAX_ENTRY_SIZE);
+        }
+    }
+
+    /**
+     * Test that a binary CSAR body larger than the archive size limit is rejected as too large.
+     *
+     * @throws IOException
+     *             if the resource cannot be loaded
+     */
+    @Test
+    public void testBinaryCsarExceedingArchiveSize() throws IOException {
+        System.setProperty(ArchiveLimits.PROPERTY_MAX_ARCHIVE_SIZE, "10");
+        try {
+            Response response =
+                    invokeBinaryService("archive-limits.csar", "1.0", CsarTest.VNF_VENDOR_CSAR.getContent());
+            assertThat(response.getStatus(), is(Response.Status.REQUEST_ENTITY_TOO_LARGE.getStatusCode()));
+            assertThat(response.getEntity(), is("The CSAR content exceeds the maximum size of 10 bytes."));
+        } finally {
+            System.clearProperty(ArchiveLimits.PROPERTY_MAX_ARCHIVE_SIZE);
+        }
+    }
+
+    @Test
+    public void testInvalidBinaryCsarFile() {
+        Response response = invokeBinaryService("hello", "1.0", "xxxx".getBytes());
+        assertThat(response.getStatus(), is(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode()));
+        assertThat(response.getEntity(), is("Error converting CSAR artifact to XML model."));
+    }
+
+    @Test
+    public void testBinaryRequestMissingArtifactName() {
+        Response response = invokeBinaryService(null, "1.0", new byte[0]);
+        assertThat(response.getStatus(), is(Response.Status.BAD_REQUEST.getStatusCode()));
+        assertThat(response.getEntity(), is("No artifact name parameter found in the request."));
+    }
+
+    @Test
+    public void testBinaryRequestMissingArtifactVersion() {
+        Response response = invokeBinaryService("hello", null, new byte[0]);
+        assertThat(response.getStatus(), is(Response.Status.BAD_REQUEST.getStatusCode()));
+        assertThat(response.getEntity(), is("No artifact version parameter found in the request."));
+    }
+
     /**
      * Create a (mocked) HTTPS request and invoke the Babel generate artifacts API.
      *
@@ -300,10 +403,30 @@ public class TestGenerateArtifactsServiceImpl {
         servletRequest.setAttribute("javax.servlet.request.X509Certificate", new X509Certificate[] {mockCertificate});
         servletRequest.setAttribute("javax.servlet.request.cipher_suite", "");
 
-        GenerateArtifactsControllerImpl service = new GenerateArtifactsControllerImpl(gson);
+        GenerateArtifactsControllerImpl service = new GenerateArtifactsControllerImpl(gson, artifactCache);
         return service.generateArtifacts(babelRequest);
     }
 
+    /**
+     * Invoke the Babel generate artifacts API with the raw CSAR content as the request body.
+     *
+     * @param artifactName
+     *            the artifact name query parameter
+     * @param artifactVersion
+     *            the artifact version query parameter
+     * @param csarContent
+     *            the CSAR content
+     * @return the Response from the HTTP API
+     */
+    private Response invokeBinaryService(String artifactName, String artifactVersion, byte[] csarContent) {
+        GenerateArtifactsControllerImpl service = new GenerateArtifactsControllerImpl(gson, artifactCache);
+        return service.generateArtifacts(artifactName, artifactVersion, new ByteArrayInputStream(csarContent));
+    }
+
+    private String getResponseEntity(Response response) throws IOException {
+        return new ArtifactTestUtils().getResponseEntity(response);
+    }
+
     private String getResponseJson(String jsonResponse) throws IOException, URISyntaxException {
         return new ArtifactTestUtils().getResponseJson(jsonResponse);
     }
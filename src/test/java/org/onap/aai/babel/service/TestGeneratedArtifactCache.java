@@ -0,0 +1,168 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.aai.babel.service.data.BabelArtifact;
+import org.onap.aai.babel.service.data.BabelArtifact.ArtifactType;
+import org.onap.aai.babel.util.ArtifactTestUtils;
+
+/**
+ * Tests {@link GeneratedArtifactCache}.
+ */
+public class TestGeneratedArtifactCache {
+
+    private static final List<BabelArtifact> ARTIFACTS =
+            Collections.singletonList(new BabelArtifact("model.xml", ArtifactType.MODEL, "<model/>"));
+
+    private MeterRegistry meterRegistry;
+    private MutableClock clock;
+
+    /**
+     * A clock which is advanced explicitly by the tests.
+     */
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.EPOCH;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+    }
+
+    @BeforeEach
+    public void setup() {
+        new ArtifactTestUtils().setGeneratorSystemProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock();
+    }
+
+    @Test
+    public void testKeyDependsOnContentNameAndVersion() {
+        String key = GeneratedArtifactCache.createKey("csar".getBytes(), "name", "1.0");
+        assertThat(GeneratedArtifactCache.createKey("csar".getBytes(), "name", "1.0"), is(key));
+        assertThat(GeneratedArtifactCache.createKey("other".getBytes(), "name", "1.0"), is(not(key)));
+        assertThat(GeneratedArtifactCache.createKey("csar".getBytes(), "other", "1.0"), is(not(key)));
+        assertThat(GeneratedArtifactCache.createKey("csar".getBytes(), "name", "2.0"), is(not(key)));
+        assertThat(GeneratedArtifactCache.createKey("csar".getBytes(), "name1", ".0"), is(not(key)));
+    }
+
+    @Test
+    public void testKeyDependsOnMappingsVersion() throws IOException {
+        String key = GeneratedArtifactCache.createKey("csar".getBytes(), "name", "1.0");
+        new ArtifactTestUtils().loadWidgetMappings();
+        assertThat(GeneratedArtifactCache.createKey("csar".getBytes(), "name", "1.0"), is(not(key)));
+    }
+
+    @Test
+    public void testCachedArtifactsAreCopies() {
+        GeneratedArtifactCache cache = createCache(10, Duration.ofMinutes(1));
+        BabelArtifact artifact = new BabelArtifact("model.xml", ArtifactType.MODEL, "<model/>");
+        cache.put("key", Collections.singletonList(artifact));
+        artifact.setPayload("<changed/>");
+        cache.get("key").get().get(0).setPayload("<changed/>");
+
+        assertThat(cache.get("key"), is(Optional.of(ARTIFACTS)));
+    }
+
+    @Test
+    public void testHitAndMissAreCounted() {
+        GeneratedArtifactCache cache = createCache(10, Duration.ofMinutes(1));
+        assertThat(cache.get("key"), is(Optional.empty()));
+        cache.put("key", ARTIFACTS);
+        assertThat(cache.get("key"), is(Optional.of(ARTIFACTS)));
+
+        assertThat(meterRegistry.counter("babel.artifact.cache.hits").count(), is(1.0));
+        assertThat(meterRegistry.counter("babel.artifact.cache.misses").count(), is(1.0));
+        assertThat(meterRegistry.get("babel.artifact.cache.size").gauge().value(), is(1.0));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        GeneratedArtifactCache cache = createCache(2, Duration.ofMinutes(1));
+        cache.put("first", ARTIFACTS);
+        cache.put("second", ARTIFACTS);
+        cache.get("first");
+        cache.put("third", ARTIFACTS);
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get("second").isPresent(), is(false));
+        assertThat(cache.get("first").isPresent(), is(true));
+        assertThat(cache.get("third").isPresent(), is(true));
+        assertThat(meterRegistry.counter("babel.artifact.cache.evictions").count(), is(1.0));
+    }
+
+    @Test
+    public void testExpiredEntryIsEvicted() {
+        GeneratedArtifactCache cache = createCache(10, Duration.ofMinutes(1));
+        cache.put("key", ARTIFACTS);
+        clock.advance(Duration.ofMinutes(1));
+
+        assertThat(cache.get("key").isPresent(), is(false));
+        assertThat(cache.size(), is(0));
+        assertThat(meterRegistry.counter("babel.artifact.cache.evictions").count(), is(1.0));
+    }
+
+    @Test
+    public void testCacheCanBeDisabled() {
+        GeneratedArtifactCache cache = createCache(0, Duration.ofMinutes(1));
+        cache.put("key", ARTIFACTS);
+        assertThat(cache.isEnabled(), is(false));
+        assertThat(cache.get("key").isPresent(), is(false));
+        assertThat(cache.size(), is(0));
+        assertThat(meterRegistry.counter("babel.artifact.cache.misses").count(), is(0.0));
+    }
+
+    private GeneratedArtifactCache createCache(int maxEntries, Duration timeToLive) {
+        return new GeneratedArtifactCache(maxEntries, timeToLive, meterRegistry, clock);
+    }
+}
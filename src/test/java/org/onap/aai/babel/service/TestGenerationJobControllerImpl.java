@@ -0,0 +1,111 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.google.gson.Gson;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.aai.babel.config.MappingConfig;
+import org.onap.aai.babel.service.data.BabelRequest;
+import org.onap.aai.babel.service.data.GenerationJobStatus;
+import org.onap.aai.babel.service.data.GenerationJobStatus.Status;
+import org.onap.aai.babel.testdata.CsarTest;
+import org.onap.aai.babel.util.ArtifactTestUtils;
+
+/**
+ * Direct invocation of the asynchronous generation job service implementation.
+ */
+public class TestGenerationJobControllerImpl {
+
+    private final Gson gson = new MappingConfig().gson();
+    private GenerationJobService jobService;
+    private GenerationJobController controller;
+
+    @BeforeEach
+    public void setup() {
+        new ArtifactTestUtils().setGeneratorSystemProperties();
+        jobService = new GenerationJobService(1, 1, 60, 10);
+        controller = new GenerationJobControllerImpl(gson, jobService, new GenerateArtifactsControllerImpl(gson,
+                new GeneratedArtifactCache(0, 0, new SimpleMeterRegistry())));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jobService.shutdown();
+    }
+
+    /**
+     * Test that a submitted job generates the same artifacts as the synchronous API.
+     *
+     * @throws IOException
+     *             if the resource cannot be loaded
+     * @throws URISyntaxException
+     *             if the URI cannot be created
+     * @throws InterruptedException
+     *             if the test is interrupted while waiting for the job
+     */
+    @Test
+    public void testSubmitJobAndFetchResult() throws IOException, URISyntaxException, InterruptedException {
+        Response response = controller.submitJob(CsarTest.VNF_VENDOR_CSAR.getBabelRequest());
+        assertThat(response.getStatus(), is(Response.Status.ACCEPTED.getStatusCode()));
+        String jobId = gson.fromJson(response.getEntity().toString(), GenerationJobStatus.class).getJobId();
+
+        for (int i = 0; i < 200 && !isFinished(jobId); i++) {
+            Thread.sleep(100);
+        }
+
+        Response result = controller.getJobResult(jobId);
+        assertThat(result.getStatus(), is(Response.Status.OK.getStatusCode()));
+        ArtifactTestUtils testUtils = new ArtifactTestUtils();
+        assertThat(testUtils.getResponseEntity(result), is(testUtils.getResponseJson("response.json")));
+    }
+
+    @Test
+    public void testSubmitInvalidRequest() {
+        BabelRequest request = new BabelRequest();
+        request.setArtifactVersion("1.0");
+        request.setCsar("");
+        Response response = controller.submitJob(request);
+        assertThat(response.getStatus(), is(Response.Status.BAD_REQUEST.getStatusCode()));
+        assertThat(response.getEntity(), is("No artifact name attribute found in the request body."));
+    }
+
+    @Test
+    public void testUnknownJob() {
+        assertThat(controller.getJobStatus("unknown").getStatus(), is(Response.Status.NOT_FOUND.getStatusCode()));
+        assertThat(controller.getJobResult("unknown").getStatus(), is(Response.Status.NOT_FOUND.getStatusCode()));
+    }
+
+    private boolean isFinished(String jobId) {
+        Response response = controller.getJobStatus(jobId);
+        Status status = gson.fromJson(response.getEntity().toString(), GenerationJobStatus.class).getStatus();
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
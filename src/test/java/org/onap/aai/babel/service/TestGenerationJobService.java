@@ -0,0 +1,175 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.service;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import jakarta.ws.rs.core.Response;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.onap.aai.babel.service.GenerationJobService.GenerationJob;
+import org.onap.aai.babel.service.data.GenerationJobStatus;
+import org.onap.aai.babel.service.data.GenerationJobStatus.Status;
+
+/**
+ * Tests {@link GenerationJobService}.
+ */
+public class TestGenerationJobService {
+
+    private GenerationJobService jobService;
+
+    @AfterEach
+    public void tearDown() {
+        if (jobService != null) {
+            jobService.shutdown();
+        }
+    }
+
+    @Test
+    public void testCompletedJobResult() throws InterruptedException {
+        jobService = new GenerationJobService(1, 1, 60, 10);
+        GenerationJobStatus jobStatus = jobService.submit(() -> Response.ok("[]").build());
+
+        GenerationJob job = awaitJob(jobStatus.getJobId());
+        assertThat(job.getStatus().getStatus(), is(Status.COMPLETED));
+        assertThat(job.getResult().getStatus(), is(Response.Status.OK.getStatusCode()));
+        assertThat(job.getResult().getEntity(), is("[]"));
+    }
+
+    @Test
+    public void testFailedJobResult() throws InterruptedException {
+        jobService = new GenerationJobService(1, 1, 60, 10);
+        GenerationJobStatus jobStatus =
+                jobService.submit(() -> Response.status(Response.Status.BAD_REQUEST).entity("error").build());
+
+        GenerationJob job = awaitJob(jobStatus.getJobId());
+        assertThat(job.getStatus().getStatus(), is(Status.FAILED));
+        assertThat(job.getResult().getStatus(), is(Response.Status.BAD_REQUEST.getStatusCode()));
+        assertThat(job.getResult().getEntity(), is("error"));
+    }
+
+    @Test
+    public void testJobThrowingErrorIsFinished() throws InterruptedException {
+        jobService = new GenerationJobService(1, 1, 60, 10);
+        GenerationJobStatus jobStatus = jobService.submit(() -> {
+            throw new OutOfMemoryError("test");
+        });
+
+        GenerationJob job = awaitJob(jobStatus.getJobId());
+        assertThat(job.getStatus().getStatus(), is(Status.FAILED));
+        assertThat(job.getResult().getStatus(), is(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode()));
+    }
+
+    @Test
+    public void testJobIsRejectedWhenQueueIsFull() throws InterruptedException {
+        jobService = new GenerationJobService(1, 1, 60, 10);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GenerationJobStatus blocked = jobService.submit(() -> {
+            running.countDown();
+            await(release);
+            return Response.ok("[]").build();
+        });
+        running.await();
+
+        GenerationJobStatus queued = jobService.submit(() -> Response.ok("[]").build());
+        assertThat(queued.getStatus(), is(Status.QUEUED));
+        assertThat(jobService.getJob(blocked.getJobId()).get().getStatus().getStatus(), is(Status.RUNNING));
+        assertThrows(RejectedExecutionException.class, () -> jobService.submit(() -> Response.ok("[]").build()));
+
+        release.countDown();
+        assertThat(awaitJob(queued.getJobId()).getStatus().getStatus(), is(Status.COMPLETED));
+    }
+
+    @Test
+    public void testFinishedJobIsRetained() throws InterruptedException {
+        jobService = new GenerationJobService(createExecutor(), Duration.ofMinutes(1), 10,
+                Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+        String jobId = jobService.submit(() -> Response.ok("[]").build()).getJobId();
+        awaitJob(jobId);
+        assertThat(jobService.getJob(jobId).isPresent(), is(true));
+    }
+
+    @Test
+    public void testFinishedJobIsDiscardedAfterRetention() throws InterruptedException {
+        jobService = new GenerationJobService(createExecutor(), Duration.ZERO, 10,
+                Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+        String jobId = jobService.submit(() -> Response.ok("[]").build()).getJobId();
+        for (int i = 0; i < 100 && jobService.getJob(jobId).isPresent(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(jobService.getJob(jobId).isPresent(), is(false));
+    }
+
+    @Test
+    public void testOldestFinishedJobIsDiscarded() throws InterruptedException {
+        jobService = new GenerationJobService(createExecutor(), Duration.ofMinutes(1), 1, Clock.systemUTC());
+        String firstJobId = jobService.submit(() -> Response.ok("[]").build()).getJobId();
+        awaitJob(firstJobId);
+        Thread.sleep(10);
+        String secondJobId = jobService.submit(() -> Response.ok("[]").build()).getJobId();
+        awaitJob(secondJobId);
+
+        assertThat(jobService.getJob(firstJobId).isPresent(), is(false));
+        assertThat(jobService.getJob(secondJobId).isPresent(), is(true));
+    }
+
+    @Test
+    public void testUnknownJob() {
+        jobService = new GenerationJobService(1, 1, 60, 10);
+        assertThat(jobService.getJob("unknown").isPresent(), is(false));
+    }
+
+    private ThreadPoolExecutor createExecutor() {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    }
+
+    private GenerationJob awaitJob(String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            GenerationJob job = jobService.getJob(jobId).get();
+            if (job.isFinished()) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Job " + jobId + " did not finish");
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
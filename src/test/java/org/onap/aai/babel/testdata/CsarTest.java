@@ -24,6 +24,7 @@ package org.onap.aai.babel.testdata;
 import com.google.gson.Gson;
 import java.io.IOException;
 import java.util.List;
+import org.onap.aai.babel.csar.CsarContext;
 import org.onap.aai.babel.csar.extractor.InvalidArchiveException;
 import org.onap.aai.babel.csar.extractor.YamlExtractor;
 import org.onap.aai.babel.csar.vnfcatalog.ToscaToCatalogException;
@@ -68,6 +69,17 @@ public enum CsarTest {
         return artifactTestUtils.getCompressedArtifact(filename);
     }
 
+    /**
+     * Create a new (unparsed) CSAR context for the content of this CSAR.
+     *
+     * @return a new CSAR context, which the caller must close
+     * @throws IOException
+     *             if an I/O exception occurs
+     */
+    public CsarContext getCsarContext() throws IOException {
+        return new CsarContext(getContent());
+    }
+
     /**
      * Extract YAML Artifacts.
      *
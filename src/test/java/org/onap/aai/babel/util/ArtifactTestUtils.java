@@ -27,11 +27,15 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Base64;
@@ -142,6 +146,25 @@ public class ArtifactTestUtils {
         return readstringFromFile(JSON_RESPONSES_FOLDER + jsonResponse);
     }
 
+    /**
+     * Get the entity of a REST response as a String, writing out the content of a streamed entity.
+     *
+     * @param response
+     *            the REST response
+     * @return the response entity
+     * @throws IOException
+     *             if the streamed entity cannot be written
+     */
+    public String getResponseEntity(Response response) throws IOException {
+        Object entity = response.getEntity();
+        if (entity instanceof StreamingOutput) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ((StreamingOutput) entity).write(output);
+            return output.toString(StandardCharsets.UTF_8);
+        }
+        return String.valueOf(entity);
+    }
+
     public String readstringFromFile(String resourceFile) throws IOException, URISyntaxException {
         return Files.lines(Path.of(getResource(resourceFile).toURI())).collect(Collectors.joining());
     }
@@ -31,6 +31,7 @@ import java.util.HashMap;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.onap.aai.babel.csar.CsarContext;
 import org.onap.aai.babel.csar.extractor.InvalidArchiveException;
 import org.onap.aai.babel.parser.ArtifactGeneratorToscaParser;
 import org.onap.aai.babel.testdata.CsarTest;
@@ -114,7 +115,9 @@ public class TestAaiArtifactGenerator {
     private GenerationData generateArtifactsFromCsarFile() throws InvalidArchiveException, IOException {
         Map<String, String> additionalParams = new HashMap<>();
         additionalParams.put(AdditionalParams.SERVICE_VERSION.getName(), "1.0");
-        return new AaiArtifactGenerator().generateArtifact(CsarTest.VNF_VENDOR_CSAR.getContent(),
-                CsarTest.VNF_VENDOR_CSAR.extractArtifacts(), additionalParams);
+        try (CsarContext csar = CsarTest.VNF_VENDOR_CSAR.getCsarContext()) {
+            return new AaiArtifactGenerator().generateArtifact(csar, CsarTest.VNF_VENDOR_CSAR.extractArtifacts(),
+                    additionalParams);
+        }
     }
 }
@@ -29,6 +29,7 @@ import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.onap.aai.babel.csar.CsarContext;
 import org.onap.aai.babel.service.data.BabelArtifact;
 import org.onap.aai.babel.testdata.CsarTest;
 import org.onap.aai.babel.util.ArtifactTestUtils;
@@ -53,16 +54,19 @@ public class TestModelGenerator {
     public void testDefaultServiceVersion() throws XmlArtifactGenerationException, IOException {
         assertDoesNotThrow(() -> {
             Artifact ymlFile = new Artifact(null, null, null, null);
-            new ModelGenerator().generateArtifacts(CsarTest.SD_WAN_CSAR_FILE.getContent(),
-                    Collections.singletonList(ymlFile));
+            try (CsarContext csar = CsarTest.SD_WAN_CSAR_FILE.getCsarContext()) {
+                new ModelGenerator().generateArtifacts(csar, Collections.singletonList(ymlFile));
+            }
         });
     }
 
     @Test
     public void testSdncPropsParsed() throws XmlArtifactGenerationException, IOException {
         Artifact ymlFile = new Artifact(null, null, null, null);
-        List<BabelArtifact> babelArtifactList = new ModelGenerator().generateArtifacts(CsarTest.PNF_VENDOR_CSAR.getContent(),
-            Collections.singletonList(ymlFile));
+        List<BabelArtifact> babelArtifactList;
+        try (CsarContext csar = CsarTest.PNF_VENDOR_CSAR.getCsarContext()) {
+            babelArtifactList = new ModelGenerator().generateArtifacts(csar, Collections.singletonList(ymlFile));
+        }
         assertTrue(babelArtifactList.get(1).getPayload().contains("sdnc-model-name"));
     }
 
@@ -0,0 +1,115 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.xml.generator.api;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import org.apache.groovy.util.Maps;
+import org.onap.aai.babel.util.ArtifactTestUtils;
+import org.onap.aai.babel.xml.generator.XmlArtifactGenerationException;
+import org.onap.aai.babel.xml.generator.model.Resource;
+import org.onap.aai.babel.xml.generator.model.Widget;
+import org.onap.aai.babel.xml.generator.model.WidgetType;
+import org.onap.aai.babel.xml.generator.xsd.Model;
+import org.onap.aai.babel.xml.generator.xsd.ModelElements;
+import org.onap.aai.babel.xml.generator.xsd.ModelVer;
+import org.onap.aai.babel.xml.generator.xsd.ModelVers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of marshalling one A&AI model. {@link #marshalWithNewContext()} creates a JAXBContext and a
+ * Marshaller for the model, as {@link AaiModelGenerator} did before the context was shared;
+ * {@link #marshalWithThreadMarshaller()} reuses the shared context and the Marshaller of the current thread.
+ * {@link #generateModel()} measures the whole generation of a VF model (with a VSERVER widget) as XML.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AaiModelGeneratorBenchmark {
+
+    private Model jaxbModel;
+    private Resource resource;
+
+    @Setup
+    public void setup() throws IOException, XmlArtifactGenerationException {
+        new ArtifactTestUtils().loadWidgetMappings();
+
+        jaxbModel = new Model();
+        jaxbModel.setModelInvariantId("3d560d81-57d0-438b-a2a1-5334dba0651a");
+        jaxbModel.setModelType("resource");
+        ModelVer modelVer = new ModelVer();
+        modelVer.setModelVersionId("a2ebeb5e-3ee6-4a1e-b8bc-3c6e8b0a4b6f");
+        modelVer.setModelName("vf-benchmark");
+        modelVer.setModelVersion("1.0");
+        modelVer.setModelDescription("VF model used for benchmarking");
+        modelVer.setModelElements(new ModelElements());
+        jaxbModel.setModelVers(new ModelVers());
+        jaxbModel.getModelVers().getModelVer().add(modelVer);
+
+        resource = new Resource(WidgetType.valueOf("VF"), false);
+        resource.populateModelIdentificationInformation(Maps.of("invariantUUID", "3d560d81-57d0-438b-a2a1-5334dba0651a",
+                "UUID", "a2ebeb5e-3ee6-4a1e-b8bc-3c6e8b0a4b6f", "name", "vf-benchmark", "version", "1.0",
+                "description", "VF model used for benchmarking"));
+        resource.addWidget(Widget.createWidget("VSERVER"));
+        resource.addWidget(Widget.createWidget("L3_NET"));
+        resource.addWidget(Widget.createWidget("VOLUME_GROUP"));
+    }
+
+    @Benchmark
+    public String marshalWithNewContext() throws JAXBException {
+        Marshaller marshaller = JAXBContext.newInstance(Model.class).createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        marshaller.setProperty(Marshaller.JAXB_ENCODING, "US-ASCII");
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+        StringWriter writer = new StringWriter();
+        marshaller.marshal(jaxbModel, writer);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public String marshalWithThreadMarshaller() throws JAXBException {
+        StringWriter writer = new StringWriter();
+        AaiModelGenerator.getMarshaller().marshal(jaxbModel, writer);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public String generateModel() throws XmlArtifactGenerationException {
+        return new AaiModelGenerator().generateModelFor(resource);
+    }
+}
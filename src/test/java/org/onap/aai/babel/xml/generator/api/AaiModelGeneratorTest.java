@@ -28,7 +28,12 @@ import org.onap.aai.babel.xml.generator.XmlArtifactGenerationException;
 import org.onap.aai.babel.xml.generator.model.Model;
 import org.onap.aai.babel.xml.generator.model.Service;
 
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
 import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -47,4 +52,34 @@ public class AaiModelGeneratorTest {
 
         assertThat(generatedXml).containsSubsequence("    <model-role>NST</model-role>");
     }
+
+    @Test
+    public void shouldReuseMarshallerWithinThread() throws JAXBException {
+        Marshaller marshaller = AaiModelGenerator.getMarshaller();
+
+        assertThat(AaiModelGenerator.getMarshaller()).isSameAs(marshaller);
+        assertThat(marshaller.getProperty(Marshaller.JAXB_ENCODING)).isEqualTo("US-ASCII");
+        assertThat(marshaller.getProperty(Marshaller.JAXB_FRAGMENT)).isEqualTo(Boolean.TRUE);
+    }
+
+    @Test
+    public void shouldNotShareMarshallerBetweenThreads()
+            throws JAXBException, InterruptedException, ExecutionException {
+        Marshaller marshaller = AaiModelGenerator.getMarshaller();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(executor.submit(AaiModelGenerator::getMarshaller).get()).isNotSameAs(marshaller);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldGenerateSameModelWhenMarshallerIsReused() throws XmlArtifactGenerationException, IOException {
+        new ArtifactTestUtils().loadWidgetMappings();
+        Model model = new Service();
+        model.populateModelIdentificationInformation(Maps.of("category", "NST"));
+
+        assertThat(generator.generateModelFor(model)).isEqualTo(generator.generateModelFor(model));
+    }
 }
@@ -0,0 +1,153 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.xml.generator.api;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.apache.groovy.util.Maps;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.aai.babel.csar.CsarConverterException;
+import org.onap.aai.babel.csar.CsarToXmlConverter;
+import org.onap.aai.babel.service.data.BabelArtifact;
+import org.onap.aai.babel.testdata.CsarTest;
+import org.onap.aai.babel.util.ArtifactTestUtils;
+import org.onap.aai.babel.xml.generator.XmlArtifactGenerationException;
+import org.onap.aai.babel.xml.generator.model.Model;
+import org.onap.aai.babel.xml.generator.model.Service;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Tests {@link AaiModelStreamWriter} against the JAXB output of {@link AaiModelGenerator} and the expected XML files.
+ */
+public class TestAaiModelStreamWriter {
+
+    private static final String SERVICE_VERSION = "1.0";
+
+    private static final CsarTest[] CSAR_FILES = {CsarTest.SD_WAN_CSAR_FILE, CsarTest.NETWORK_COLLECTION_CSAR_FILE,
+        CsarTest.COS_AVPN_CSAR_FILE, CsarTest.RG_COLLECTOR_615_CSAR_FILE, CsarTest.PORT_MIRROR_CSAR,
+        CsarTest.SERVICE_PROXY_CSAR_FILE, CsarTest.VNF_VENDOR_CSAR};
+
+    @BeforeEach
+    public void setup() {
+        new ArtifactTestUtils().setGeneratorSystemProperties();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(AaiModelGenerator.PROPERTY_MODEL_WRITER);
+    }
+
+    /**
+     * Test that the streamed XML is identical to the XML marshalled by JAXB, and matches the expected XML, for each
+     * model of the test CSAR files.
+     *
+     * @throws CsarConverterException
+     *             if the XML models cannot be generated
+     * @throws IOException
+     *             if a test resource cannot be loaded
+     * @throws SAXException
+     *             if the XML cannot be compared
+     */
+    @Test
+    public void testStreamedXmlIsIdenticalToJaxbXml() throws CsarConverterException, IOException, SAXException {
+        ArtifactTestUtils testUtils = new ArtifactTestUtils();
+        for (CsarTest csarFile : CSAR_FILES) {
+            List<BabelArtifact> jaxbArtifacts = generate(csarFile, AaiModelGenerator.MODEL_WRITER_JAXB);
+            List<BabelArtifact> staxArtifacts = generate(csarFile, AaiModelGenerator.MODEL_WRITER_STAX);
+
+            assertThat(staxArtifacts.size(), is(jaxbArtifacts.size()));
+            for (int i = 0; i < jaxbArtifacts.size(); i++) {
+                BabelArtifact streamed = staxArtifacts.get(i);
+                assertThat(streamed.getName(), is(jaxbArtifacts.get(i).getName()));
+                assertThat(streamed.getName(), streamed.getPayload(), is(jaxbArtifacts.get(i).getPayload()));
+
+                if (csarFile != CsarTest.VNF_VENDOR_CSAR) {
+                    String expectedXml = testUtils.loadResourceAsString("generatedXml/" + streamed.getName());
+                    assertThat(streamed.getName(), expectedXml, is(notNullValue()));
+                    assertThat(streamed.getName(), testUtils.compareXmlStrings(streamed.getPayload(), expectedXml),
+                            is(true));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that optional model-ver elements are written in schema order, and that characters which cannot be encoded
+     * in US-ASCII are escaped in the same way as by JAXB.
+     *
+     * @throws XmlArtifactGenerationException
+     *             if the model cannot be generated
+     * @throws IOException
+     *             if the widget mappings cannot be loaded
+     */
+    @Test
+    public void testNonAsciiCharactersAreEscaped() throws XmlArtifactGenerationException, IOException {
+        new ArtifactTestUtils().loadWidgetMappings();
+        Model model = new Service();
+        model.populateModelIdentificationInformation(Maps.of("category", "NST", "name", "Caf\u00e9 <&> \"test\"",
+                "description", "", "sdnc_model_name", "sdnc-name", "sdnc_model_version", "sdnc-version"));
+
+        String jaxbXml = new AaiModelGenerator().generateModelFor(model);
+        assertThat(AaiModelStreamWriter.writeModel(model), is(jaxbXml));
+    }
+
+    /**
+     * Test that a character outside the Basic Multilingual Plane is escaped as a single reference to its code point, so
+     * that the XML is well-formed and the text is read back unchanged.
+     *
+     * @throws Exception
+     *             if the model cannot be generated or the XML cannot be parsed
+     */
+    @Test
+    public void testSupplementaryCharactersAreEscapedByCodePoint() throws Exception {
+        new ArtifactTestUtils().loadWidgetMappings();
+        String name = "Caf\u00e9 \uD83D\uDE00";
+        Model model = new Service();
+        model.populateModelIdentificationInformation(Maps.of("category", "NST", "name", name, "description", "",
+                "sdnc_model_name", "sdnc-name", "sdnc_model_version", "sdnc-version"));
+
+        String xml = AaiModelStreamWriter.writeModel(model);
+        assertThat(xml, containsString("<model-name>Caf&#233; &#128512;</model-name>"));
+
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new InputSource(new StringReader(xml)));
+        assertThat(document.getElementsByTagName("model-name").item(0).getTextContent(), is(name));
+    }
+
+    private List<BabelArtifact> generate(CsarTest csarFile, String modelWriter)
+            throws CsarConverterException, IOException {
+        System.setProperty(AaiModelGenerator.PROPERTY_MODEL_WRITER, modelWriter);
+        return new CsarToXmlConverter().generateXmlFromCsar(csarFile.getContent(), csarFile.getName(),
+                SERVICE_VERSION);
+    }
+}
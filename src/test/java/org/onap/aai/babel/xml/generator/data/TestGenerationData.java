@@ -0,0 +1,47 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.xml.generator.data;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link GenerationData}.
+ */
+public class TestGenerationData {
+
+    @Test
+    public void testContainsArtifact() {
+        GenerationData data = new GenerationData();
+        assertThat(data.containsArtifact("AAI-test-resource-1.0.xml"), is(false));
+
+        Artifact artifact = new Artifact("type", "group", "payload");
+        artifact.setName("AAI-test-resource-1.0.xml");
+        data.add(artifact);
+
+        assertThat(data.containsArtifact("AAI-test-resource-1.0.xml"), is(true));
+        assertThat(data.containsArtifact("AAI-other-resource-1.0.xml"), is(false));
+        assertThat(data.getResultData().size(), is(1));
+    }
+}
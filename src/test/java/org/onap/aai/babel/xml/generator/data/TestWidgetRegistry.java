@@ -0,0 +1,156 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.xml.generator.data;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.onap.aai.babel.csar.CsarContext;
+import org.onap.aai.babel.testdata.CsarTest;
+import org.onap.aai.babel.util.ArtifactTestUtils;
+import org.onap.aai.babel.xml.generator.api.AaiArtifactGenerator;
+import org.onap.aai.babel.xml.generator.data.WidgetConfigurationUtil.RegistryScope;
+import org.onap.aai.babel.xml.generator.model.WidgetType;
+
+/**
+ * Tests {@link WidgetRegistry} and its publication by {@link WidgetConfigurationUtil}.
+ */
+public class TestWidgetRegistry {
+
+    private ArtifactTestUtils testUtils;
+
+    /**
+     * Load the widget configuration for each test.
+     *
+     * @throws Exception
+     *             if the widget mappings cannot be loaded
+     */
+    @BeforeEach
+    public void setup() throws Exception {
+        testUtils = new ArtifactTestUtils();
+        testUtils.setGeneratorSystemProperties();
+        testUtils.loadWidgetMappings();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        testUtils.loadWidgetMappings();
+    }
+
+    @Test
+    public void testEachChangePublishesNewVersion() {
+        WidgetRegistry registry = WidgetConfigurationUtil.getRegistry();
+        WidgetConfigurationUtil.setSupportedInstanceGroups(Collections.singletonList("org.test.group"));
+        WidgetRegistry updated = WidgetConfigurationUtil.getRegistry();
+
+        assertThat(updated.getVersion(), is(greaterThan(registry.getVersion())));
+        assertThat(updated.isSupportedInstanceGroup("org.test.group"), is(true));
+        assertThat(registry.isSupportedInstanceGroup("org.test.group"), is(false));
+        assertThat(updated.getWidget("VF"), is(sameInstance(registry.getWidget("VF"))));
+    }
+
+    /**
+     * Test that a captured registry is used by the calling thread until the scope is closed, regardless of any change
+     * to the configuration.
+     */
+    @Test
+    public void testCapturedRegistryIsUnaffectedByChanges() {
+        try (RegistryScope scope = WidgetConfigurationUtil.captureRegistry()) {
+            WidgetType.clearElements();
+            assertThat(WidgetConfigurationUtil.getRegistry(), is(sameInstance(scope.getRegistry())));
+            assertThat(WidgetType.valueOf("VF").toString(), is("VF"));
+        }
+        assertThrows(IllegalArgumentException.class, () -> WidgetType.valueOf("VF"));
+    }
+
+    @Test
+    public void testClosingNestedScopeRestoresEnclosingRegistry() {
+        try (RegistryScope outer = WidgetConfigurationUtil.captureRegistry()) {
+            WidgetType.clearElements();
+            try (RegistryScope inner = WidgetConfigurationUtil.captureRegistry()) {
+                assertThrows(IllegalArgumentException.class, () -> WidgetType.valueOf("VF"));
+            }
+            assertThat(WidgetConfigurationUtil.getRegistry(), is(sameInstance(outer.getRegistry())));
+        }
+    }
+
+    @Test
+    public void testWidgetTypesAreEqualAcrossVersions() throws Exception {
+        WidgetType widgetType = WidgetType.valueOf("VF");
+        testUtils.loadWidgetMappings();
+        assertThat(WidgetType.valueOf("VF"), is(equalTo(widgetType)));
+    }
+
+    /**
+     * Test that concurrent generations all succeed while the configuration is repeatedly replaced.
+     *
+     * @throws Exception
+     *             if a generation fails
+     */
+    @Test
+    public void testConcurrentGenerationsDuringReload() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<GenerationData>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(generateArtifacts()));
+            }
+            for (int i = 0; i < 8; i++) {
+                testUtils.loadWidgetMappings();
+            }
+            for (Future<GenerationData> result : results) {
+                GenerationData data = result.get();
+                assertThat("Errors produced " + data.getErrorData(), data.getErrorData().size(), is(equalTo(0)));
+                assertThat("Number of resources generated", data.getResultData().size(), is(equalTo(2)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<GenerationData> generateArtifacts() {
+        return () -> {
+            Map<String, String> additionalParams = new HashMap<>();
+            additionalParams.put(AdditionalParams.SERVICE_VERSION.getName(), "1.0");
+            try (CsarContext csar = CsarTest.VNF_VENDOR_CSAR.getCsarContext()) {
+                return new AaiArtifactGenerator().generateArtifact(csar, CsarTest.VNF_VENDOR_CSAR.extractArtifacts(),
+                        additionalParams);
+            }
+        };
+    }
+}
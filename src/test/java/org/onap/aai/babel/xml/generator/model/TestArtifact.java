@@ -0,0 +1,110 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.xml.generator.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.onap.aai.babel.csar.CsarContext;
+import org.onap.aai.babel.csar.extractor.InvalidArchiveException;
+import org.onap.aai.babel.testdata.CsarTest;
+import org.onap.aai.babel.util.ArtifactTestUtils;
+import org.onap.aai.babel.xml.generator.api.AaiArtifactGenerator;
+import org.onap.aai.babel.xml.generator.data.AdditionalParams;
+import org.onap.aai.babel.xml.generator.data.Artifact;
+import org.onap.aai.babel.xml.generator.data.GenerationData;
+import org.onap.aai.babel.xml.generator.data.GeneratorUtil;
+
+public class TestArtifact {
+
+    private static final String TEST_CONTENT = "<model xmlns=\"http://org.onap.aai.inventory/v32\"/>";
+
+    @Test
+    public void shouldDeriveEncodedPayloadAndCheckSumFromContent() {
+        Artifact artifact = new Artifact("type", "group", TEST_CONTENT);
+
+        assertThat(artifact.getContent(), is(TEST_CONTENT));
+        assertThat(artifact.getPayload(), is(GeneratorUtil.encode(TEST_CONTENT.getBytes())));
+        assertThat(artifact.getChecksum(), is(GeneratorUtil.checkSum(TEST_CONTENT.getBytes())));
+    }
+
+    @Test
+    public void shouldDecodeContentFromEncodedPayload() {
+        byte[] bytes = TEST_CONTENT.getBytes();
+        Artifact artifact = new Artifact("type", "group", GeneratorUtil.checkSum(bytes), GeneratorUtil.encode(bytes));
+
+        assertThat(artifact.getContent(), is(TEST_CONTENT));
+        assertThat(artifact.getPayload(), is(GeneratorUtil.encode(bytes)));
+        assertThat(artifact.getChecksum(), is(GeneratorUtil.checkSum(bytes)));
+    }
+
+    @Test
+    public void shouldReadSourceContentOnlyWhenRequired() {
+        byte[] bytes = TEST_CONTENT.getBytes();
+        AtomicInteger reads = new AtomicInteger();
+        Artifact artifact = new Artifact("type", "group", () -> {
+            reads.incrementAndGet();
+            return bytes;
+        });
+        assertThat(reads.get(), is(0));
+
+        assertThat(artifact.getPayload(), is(GeneratorUtil.encode(bytes)));
+        assertThat(artifact.getPayload(), is(GeneratorUtil.encode(bytes)));
+        assertThat(reads.get(), is(1));
+
+        assertThat(artifact.getChecksum(), is(GeneratorUtil.checkSum(bytes)));
+        assertThat(artifact.getContent(), is(TEST_CONTENT));
+    }
+
+    /**
+     * Test that the content of each generated artifact is identical to the content previously obtained by Base64
+     * encoding the generated XML and decoding the payload.
+     *
+     * @throws IOException
+     *             if the test CSAR cannot be loaded
+     * @throws InvalidArchiveException
+     *             if the test CSAR is invalid
+     */
+    @Test
+    public void shouldGenerateContentIdenticalToDecodedPayload() throws IOException, InvalidArchiveException {
+        new ArtifactTestUtils().setGeneratorSystemProperties();
+        Map<String, String> additionalParams = new HashMap<>();
+        additionalParams.put(AdditionalParams.SERVICE_VERSION.getName(), "1.0");
+
+        GenerationData data;
+        try (CsarContext csar = CsarTest.VNF_VENDOR_CSAR.getCsarContext()) {
+            data = new AaiArtifactGenerator().generateArtifact(csar, CsarTest.VNF_VENDOR_CSAR.extractArtifacts(),
+                    additionalParams);
+        }
+
+        assertThat(data.getResultData().isEmpty(), is(false));
+        for (Artifact artifact : data.getResultData()) {
+            assertThat(artifact.getContent(), is(new String(Base64.getDecoder().decode(artifact.getPayload()))));
+        }
+    }
+}
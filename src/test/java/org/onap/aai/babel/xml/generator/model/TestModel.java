@@ -22,15 +22,20 @@
 package org.onap.aai.babel.xml.generator.model;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
+import java.util.Collections;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.onap.aai.babel.util.ArtifactTestUtils;
+import org.onap.aai.babel.xml.generator.data.WidgetConfigurationUtil;
+import org.onap.aai.babel.xml.generator.data.WidgetMapping;
 
 /**
  * Direct tests of the Model abstract class (to improve code coverage). Not all methods are tested here. Some are
@@ -73,6 +78,35 @@ public class TestModel {
         assertMapping("org.openecomp.resource.vfc", "an.unknown.type", WidgetType.valueOf("VSERVER"));
     }
 
+    /**
+     * Test that each lookup of a (previously resolved) type returns a new copy of the mapped Resource.
+     */
+    @Test
+    public void testResolvedTypeIsCopied() {
+        Resource first = Model.getModelFor("org.openecomp.resource.vfc.nodes.heat.nova.Server");
+        Resource second = Model.getModelFor("org.openecomp.resource.vfc.nodes.heat.nova.Server");
+        assertThat(second.getWidgetType(), is(first.getWidgetType()));
+        assertThat(second, is(not(sameInstance(first))));
+    }
+
+    /**
+     * Test that a type which was previously not mapped is resolved again after the mappings are set.
+     *
+     * @throws IOException
+     *             if the mapping is invalid (not expected)
+     */
+    @Test
+    public void testResolvedTypesAreClearedBySettingMappings() throws IOException {
+        assertThat(Model.getModelFor("org.test.resolved.type"), is(nullValue()));
+
+        WidgetMapping mapping = new WidgetMapping();
+        mapping.setPrefix("org.test.resolved");
+        mapping.setWidget("VSERVER");
+        WidgetConfigurationUtil.setWidgetMappings(Collections.singletonList(mapping));
+
+        assertMapping("org.test.resolved.type", WidgetType.valueOf("VSERVER"));
+    }
+
     /**
      * Test that there is no exception if processing a Model that has no metadata properties.
      */
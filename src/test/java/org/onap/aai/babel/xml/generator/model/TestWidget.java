@@ -22,6 +22,8 @@
 package org.onap.aai.babel.xml.generator.model;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -164,6 +166,47 @@ public class TestWidget {
         assertThat(widgetModel.equals(Widget.createWidget("VSERVER")), is(false));
     }
 
+    @Test
+    public void testWidgetDefinitionIsShared() throws XmlArtifactGenerationException {
+        Widget definition = Widget.getDefinition("VF");
+        assertThat(Widget.getDefinition("VF"), is(sameInstance(definition)));
+
+        Widget widget = Widget.createWidget("VF");
+        assertThat(widget, is(not(sameInstance(definition))));
+        assertThat(widget.getId(), is(definition.getId()));
+        assertThat(widget.getWidgetId(), is(definition.getWidgetId()));
+    }
+
+    @Test
+    public void testWidgetDefinitionCannotBeModified() throws XmlArtifactGenerationException {
+        Widget definition = Widget.getDefinition("VSERVER");
+        assertThrows(org.onap.aai.babel.xml.generator.error.IllegalAccessException.class, () -> {
+            definition.addKey("key");
+        });
+        assertThrows(org.onap.aai.babel.xml.generator.error.IllegalAccessException.class, () -> {
+            definition.addWidget(Widget.createWidget("LINT"));
+        });
+    }
+
+    /**
+     * Test that a new VSERVER Widget has the (shared) child Widgets of its definition, and that adding a Widget to it
+     * does not affect the definition.
+     *
+     * @throws XmlArtifactGenerationException
+     *             if there is no configuration defined for a test Widget Type
+     */
+    @Test
+    public void testVserverChildWidgets() throws XmlArtifactGenerationException {
+        Widget vserver = Widget.createWidget("VSERVER");
+        assertThat(vserver.getWidgets(), is(Widget.getDefinition("VSERVER").getWidgets()));
+        assertThat(vserver.getWidgets().size(), is(4));
+        assertThat(vserver.getWidgets().contains(Widget.getDefinition("FLAVOR")), is(true));
+
+        assertThat(vserver.addWidget(Widget.createWidget("LINT")), is(true));
+        assertThat(vserver.getWidgets().size(), is(5));
+        assertThat(Widget.getDefinition("VSERVER").getWidgets().size(), is(4));
+    }
+
     @Test
     public void testGetUnknownWidget() throws XmlArtifactGenerationException {
         assertThrows(IllegalArgumentException.class, () -> {
@@ -0,0 +1,108 @@
+/**
+ * ============LICENSE_START=======================================================
+ * org.onap.aai
+ * ================================================================================
+ * Copyright (c) 2017-2019 AT&T Intellectual Property. All rights reserved.
+ * Copyright (c) 2017-2019 European Software Marketing Ltd.
+ * ================================================================================
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ============LICENSE_END=========================================================
+ */
+
+package org.onap.aai.babel.xml.generator.model;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.onap.aai.babel.csar.CsarConverterException;
+import org.onap.aai.babel.csar.CsarToXmlConverter;
+import org.onap.aai.babel.service.data.BabelArtifact;
+import org.onap.aai.babel.testdata.CsarTest;
+import org.onap.aai.babel.util.ArtifactTestUtils;
+import org.onap.aai.babel.xml.generator.XmlArtifactGenerationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the cost (run with {@code -prof gc} for the allocation) of obtaining Widgets. Before the Widget definitions
+ * were shared, every VSERVER Widget was copied along with a new copy of each of its FLAVOR, IMAGE, TENANT and VFC
+ * children ({@link #copyVserverAndChildren(Blackhole)}), and reading a model's widget IDs created a whole Widget
+ * ({@link #readWidgetIdsFromCopy(Blackhole)}). {@link #generateServiceXml()} measures the XML generation of a service
+ * with several VFs and VF Modules.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WidgetBenchmark {
+
+    private static final List<String> VSERVER_CHILD_TYPES = List.of("FLAVOR", "IMAGE", "TENANT", "VFC");
+
+    private Resource resource;
+    private byte[] csar;
+
+    @Setup
+    public void setup() throws IOException {
+        ArtifactTestUtils testUtils = new ArtifactTestUtils();
+        testUtils.setGeneratorSystemProperties();
+        testUtils.loadWidgetMappings();
+        resource = new Resource(WidgetType.valueOf("VF"), false);
+        csar = CsarTest.SD_WAN_CSAR_FILE.getContent();
+    }
+
+    @Benchmark
+    public void copyVserverAndChildren(Blackhole blackhole) throws XmlArtifactGenerationException {
+        blackhole.consume(Widget.createWidget("VSERVER"));
+        for (String childType : VSERVER_CHILD_TYPES) {
+            blackhole.consume(Widget.createWidget(childType));
+        }
+    }
+
+    @Benchmark
+    public Widget createVserver() throws XmlArtifactGenerationException {
+        return Widget.createWidget("VSERVER");
+    }
+
+    @Benchmark
+    public Widget getVserverDefinition() throws XmlArtifactGenerationException {
+        return Widget.getDefinition("VSERVER");
+    }
+
+    @Benchmark
+    public void readWidgetIdsFromCopy(Blackhole blackhole) throws XmlArtifactGenerationException {
+        blackhole.consume(Widget.createWidget(resource.getWidgetType()).getId());
+        blackhole.consume(Widget.createWidget(resource.getWidgetType()).getWidgetId());
+    }
+
+    @Benchmark
+    public void readWidgetIds(Blackhole blackhole) throws XmlArtifactGenerationException {
+        blackhole.consume(resource.getWidgetId());
+        blackhole.consume(resource.getWidgetInvariantId());
+    }
+
+    @Benchmark
+    public List<BabelArtifact> generateServiceXml() throws CsarConverterException {
+        return new CsarToXmlConverter().generateXmlFromCsar(csar, CsarTest.SD_WAN_CSAR_FILE.getName(), "1.0");
+    }
+}